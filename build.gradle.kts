@@ -3,6 +3,7 @@ import org.zaproxy.gradle.CreateNewsMainRelease
 import org.zaproxy.gradle.CreatePullRequest
 import org.zaproxy.gradle.CustomXmlConfiguration
 import org.zaproxy.gradle.DownloadReleasedAddOns
+import org.zaproxy.gradle.GenerateMinifiedZapVersions
 import org.zaproxy.gradle.GenerateReleaseStateLastCommit
 import org.zaproxy.gradle.GenerateWebsiteAddonsData
 import org.zaproxy.gradle.GenerateWebsiteChangelogPages
@@ -10,10 +11,13 @@ import org.zaproxy.gradle.GenerateWebsiteMainReleaseData
 import org.zaproxy.gradle.GenerateWebsitePages
 import org.zaproxy.gradle.GenerateWebsiteSbomPages
 import org.zaproxy.gradle.GenerateWebsiteWeeklyReleaseData
+import org.zaproxy.gradle.GenerateZapVersionsDeltas
 import org.zaproxy.gradle.GitHubRepo
 import org.zaproxy.gradle.GitHubUser
 import org.zaproxy.gradle.HandleMainRelease
 import org.zaproxy.gradle.HandleWeeklyRelease
+import org.zaproxy.gradle.HttpClientService
+import org.zaproxy.gradle.ListAddOnDependents
 import org.zaproxy.gradle.MainReleaseRepositoryDispatch
 import org.zaproxy.gradle.UpdateAddOnZapVersionsEntries
 import org.zaproxy.gradle.UpdateAndCreatePullRequestAddOnRelease
@@ -24,6 +28,7 @@ import org.zaproxy.gradle.UpdateMainZapVersionsEntries
 import org.zaproxy.gradle.UpdateZapMgmtScriptsData
 import org.zaproxy.gradle.UpdateZapVersionWebsiteData
 import org.zaproxy.gradle.crowdin.DeployCrowdinTranslations
+import java.time.Duration
 import java.util.Optional
 
 plugins {
@@ -98,8 +103,17 @@ val ghUser = GitHubUser("zapbot", "12745184+zapbot@users.noreply.github.com", Sy
 val adminRepo = GitHubRepo("zaproxy", "zap-admin", rootDir)
 
 val addOnsZapVersions = files(devZapVersions, latestZapVersions)
+val allZapVersions = fileTree(rootDir).matching { include("ZapVersions*.xml") }
 val defaultChecksumAlgorithm = "SHA-256"
 
+gradle.sharedServices.registerIfAbsent(HttpClientService.NAME, HttpClientService::class) {
+    parameters {
+        connectTimeout.set(Duration.ofSeconds(30))
+        responseTimeout.set(Duration.ofSeconds(60))
+        maxRequestsPerHost.set(8)
+    }
+}
+
 tasks {
     register<ZapTask>("generateReleaseNotes") {
         description = "Generates release notes."
@@ -144,7 +158,7 @@ tasks {
     }
 
     register<UpdateMainZapVersionsEntries>("updateMainRelease") {
-        into.setFrom(fileTree(rootDir).matching { include("ZapVersions*.xml") })
+        into.setFrom(allZapVersions)
         baseDownloadUrl.set("https://github.com/zaproxy/zaproxy/releases/download/v@@VERSION@@/")
         windows32FileName.set("ZAP_@@VERSION_UNDERSCORES@@_windows-x32.exe")
         windows64FileName.set("ZAP_@@VERSION_UNDERSCORES@@_windows.exe")
@@ -204,6 +218,13 @@ tasks {
         checksumAlgorithm.set(defaultChecksumAlgorithm)
     }
 
+    register<GenerateMinifiedZapVersions>("generateMinifiedZapVersions") {
+        zapVersions.setFrom(allZapVersions)
+        outputDir.set(layout.projectDirectory.dir("minified"))
+        gzipOutputDir.set(layout.buildDirectory.dir("zapVersionsGzipped"))
+        sizeReport.set(layout.buildDirectory.file("zapVersionsSizeReport.txt"))
+    }
+
     register<UpdateAndCreatePullRequestAddOnRelease>("updateAndCreatePullRequestAddOnRelease") {
         into.setFrom(addOnsZapVersions)
         checksumAlgorithm.set(defaultChecksumAlgorithm)
@@ -258,6 +279,34 @@ val generateReleaseStateLastCommit by tasks.registering(GenerateReleaseStateLast
     releaseState.set(layout.buildDirectory.file("release_state_last_commit.json"))
 }
 
+val generateZapVersionsDeltas by tasks.registering(GenerateZapVersionsDeltas::class) {
+    zapVersionsPaths.set(listOf(noAddOnsZapVersions, devZapVersions, nameLatestZapVersions))
+    outputDir.set(layout.projectDirectory.dir("deltas"))
+}
+
+val updatePublishedZapVersions by tasks.registering(CreatePullRequest::class) {
+    dependsOn(generateZapVersionsDeltas)
+    dependsOn(tasks.named("generateMinifiedZapVersions"))
+
+    user.set(ghUser)
+    repo.set(adminRepo)
+    branchName.set("update-published-zapversions")
+
+    commitSummary.set("Update published ZapVersions files")
+    commitDescription.set(
+        provider {
+            """
+            From:
+            $adminRepo@${headCommit(adminRepo.dir)}
+            """.trimIndent()
+        },
+    )
+}
+
+val listAddOnDependents by tasks.registering(ListAddOnDependents::class) {
+    zapVersions.set(latestZapVersions)
+}
+
 val releaseStateData = generateReleaseStateLastCommit.map { it.releaseState.get() }
 val addOnsHelpWebsite = file("src/main/addons-help-website.yaml")
 
@@ -472,4 +521,5 @@ tasks.register("handleRelease") {
     dependsOn(updateFlathub)
     dependsOn(handleSnapRelease)
     dependsOn(updateZapMgmtScripts)
+    dependsOn(updatePublishedZapVersions)
 }
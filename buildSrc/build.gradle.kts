@@ -1,5 +1,6 @@
 plugins {
     `kotlin-dsl`
+    `java-test-fixtures`
     id("com.diffplug.spotless")
     id("org.zaproxy.common")
 }
@@ -8,6 +9,17 @@ repositories {
     mavenCentral()
 }
 
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.testFixtures.get().output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.testFixtures.get().output
+}
+
+configurations {
+    "jmhImplementation" {
+        extendsFrom(configurations.implementation.get())
+    }
+}
+
 tasks.withType<JavaCompile>().configureEach {
     if (JavaVersion.current().getMajorVersion() >= "21") {
        options.compilerArgs = options.compilerArgs + "-Xlint:-this-escape"
@@ -42,6 +54,26 @@ dependencies {
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.18.2")
     implementation("org.snakeyaml:snakeyaml-engine:2.6")
     implementation("org.zaproxy:zap:2.15.0")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.12.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("org.assertj:assertj-core:3.27.3")
+
+    val jmhVersion = "1.37"
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks, options can be passed with --args (e.g. --args='-h')."
+
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = jmh.runtimeClasspath
 }
 
 spotless {
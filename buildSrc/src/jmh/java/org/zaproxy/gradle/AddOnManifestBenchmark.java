@@ -0,0 +1,145 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.configuration.XMLConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the manifest of an add-on with {@link ZipFile} and {@code XMLConfiguration},
+ * with reading it with {@link AddOnManifest}.
+ *
+ * <p>The add-ons are generated with the sizes of the add-ons in {@code ZapVersions-dev.xml}: the
+ * median (0.8 MB), the 90th percentile (25 MB, e.g. the help add-ons), and the largest (338 MB, the
+ * webdrivers). The add-ons are filled with 16 KiB entries, with the manifest as the last entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddOnManifestBenchmark {
+
+    private static final int ENTRY_SIZE = 16 * 1024;
+
+    private static final String MANIFEST =
+            """
+            <zapaddon>
+                <name>Add-On</name>
+                <version>1</version>
+                <semver>1.0.0</semver>
+                <status>release</status>
+                <description>Description.</description>
+                <author>ZAP Dev Team</author>
+                <changes><![CDATA[<h3>Changed</h3>]]></changes>
+                <dependencies>
+                    <addons>
+                        <addon><id>commonlib</id><version>1.*</version></addon>
+                    </addons>
+                </dependencies>
+                <not-before-version>2.16.0</not-before-version>
+            </zapaddon>
+            """;
+
+    @Param({"805897", "25285011", "338414346"})
+    private long size;
+
+    private Path addOn;
+
+    @Setup
+    public void setup() throws Exception {
+        addOn = Files.createTempFile("addon", ".zap");
+        byte[] data = new byte[ENTRY_SIZE];
+        Random random = new Random(size);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(addOn))) {
+            out.setLevel(0);
+            for (long i = 0, count = size / ENTRY_SIZE; i < count; i++) {
+                out.putNextEntry(new ZipEntry("help/contents/page" + i + ".html"));
+                random.nextBytes(data);
+                out.write(data);
+                out.closeEntry();
+            }
+            out.setLevel(9);
+            out.putNextEntry(new ZipEntry(AddOnManifest.FILE_NAME));
+            out.write(MANIFEST.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(addOn);
+    }
+
+    @Benchmark
+    public Object zipFileXmlConfiguration() throws Exception {
+        XMLConfiguration manifest = new XMLConfiguration();
+        manifest.setEncoding("UTF-8");
+        manifest.setDelimiterParsingDisabled(true);
+        try (ZipFile addOnZip = new ZipFile(addOn.toFile())) {
+            ZipEntry manifestEntry = addOnZip.getEntry(AddOnManifest.FILE_NAME);
+            try (InputStream is = addOnZip.getInputStream(manifestEntry)) {
+                manifest.load(is);
+            }
+        }
+        return manifest;
+    }
+
+    @Benchmark
+    public Object zipFile() throws Exception {
+        try (ZipFile addOnZip = new ZipFile(addOn.toFile())) {
+            ZipEntry manifestEntry = addOnZip.getEntry(AddOnManifest.FILE_NAME);
+            try (InputStream is = addOnZip.getInputStream(manifestEntry)) {
+                return is.readAllBytes();
+            }
+        }
+    }
+
+    @Benchmark
+    public Object zipEntryReader() throws Exception {
+        return ZipEntryReader.read(addOn, AddOnManifest.FILE_NAME);
+    }
+
+    @Benchmark
+    public Object addOnManifest() throws Exception {
+        return AddOnManifest.read(addOn);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares strategies to calculate the checksum of files of the sizes of the add-ons and the
+ * installers of the releases.
+ *
+ * <p>The files are generated once per trial and are read from the page cache, as they are after
+ * being downloaded, so the benchmarks measure the cost of reading and hashing, not the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    private static final int MIB = 1024 * 1024;
+    private static final int BUFFER_SIZE = MIB;
+    private static final int READ_AHEAD_BUFFERS = 4;
+
+    @Param({"1", "50", "300"})
+    private int sizeMiB;
+
+    @Param({"SHA-256", "SHA-512"})
+    private String algorithm;
+
+    private Path file;
+    private ExecutorService readAheadExecutor;
+
+    @Setup
+    public void setup() throws Exception {
+        file = Files.createTempFile("checksum", ".bin");
+        byte[] data = new byte[MIB];
+        Random random = new Random(sizeMiB);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < sizeMiB; i++) {
+                random.nextBytes(data);
+                out.write(data);
+            }
+        }
+        readAheadExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        readAheadExecutor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String digestUtils() throws IOException {
+        return new DigestUtils(algorithm).digestAsHex(file.toFile());
+    }
+
+    @Benchmark
+    public String fileDigests() throws IOException {
+        return FileDigests.read(file, algorithm).get(algorithm);
+    }
+
+    @Benchmark
+    public String directBuffer() throws IOException {
+        MessageDigest digest = DigestUtils.getDigest(algorithm);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    @Benchmark
+    public String memoryMapped() throws IOException {
+        MessageDigest digest = DigestUtils.getDigest(algorithm);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                long length = Math.min(Integer.MAX_VALUE, size - position);
+                MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                digest.update(buffer);
+            }
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    @Benchmark
+    public String readAhead() throws Exception {
+        MessageDigest digest = DigestUtils.getDigest(algorithm);
+        BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(READ_AHEAD_BUFFERS);
+        BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(READ_AHEAD_BUFFERS + 1);
+        for (int i = 0; i < READ_AHEAD_BUFFERS; i++) {
+            free.add(ByteBuffer.allocate(BUFFER_SIZE));
+        }
+        ByteBuffer end = ByteBuffer.allocate(0);
+
+        Future<Void> reader =
+                readAheadExecutor.submit(
+                        () -> {
+                            try (FileChannel channel =
+                                    FileChannel.open(file, StandardOpenOption.READ)) {
+                                for (; ; ) {
+                                    ByteBuffer buffer = free.take();
+                                    buffer.clear();
+                                    if (channel.read(buffer) == -1) {
+                                        break;
+                                    }
+                                    filled.put(buffer.flip());
+                                }
+                            } finally {
+                                filled.put(end);
+                            }
+                            return null;
+                        });
+
+        for (ByteBuffer buffer; (buffer = filled.take()) != end; ) {
+            digest.update(buffer.array(), 0, buffer.limit());
+            free.put(buffer);
+        }
+        reader.get();
+        return Hex.encodeHexString(digest.digest());
+    }
+}
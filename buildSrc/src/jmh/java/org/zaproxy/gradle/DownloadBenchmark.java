@@ -0,0 +1,232 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zaproxy.gradle.zapversions.ZapVersionsRewriter;
+
+/**
+ * Measures the download paths against a {@link LocalArtifactServer}, with the given latency,
+ * bandwidth, and mid-stream failures.
+ *
+ * <p>The throughput benchmarks report the {@code mebibytes} transferred per second, the {@code
+ * releaseUpdate} benchmark reports the time to download the four files of a main release and update
+ * the {@code ZapVersions.xml} file, read from the root of the repository, the benchmarks are
+ * expected to run from {@code buildSrc}.
+ *
+ * <p>The retries do not back off, to measure the cost of resuming the downloads rather than the
+ * time waiting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DownloadBenchmark {
+
+    private static final int MIB = 1024 * 1024;
+    private static final String ALGORITHM = "SHA-256";
+    private static final String[] RELEASE_FILES = {"windows32", "windows", "linux", "mac"};
+
+    @Param({"1", "64"})
+    private int sizeMiB;
+
+    private final SharedHttpClient client = new SharedHttpClient();
+
+    @Param({"0", "50"})
+    private int latencyMs;
+
+    @Param({"0", "20"})
+    private int bandwidthMiBps;
+
+    @Param({"false", "true"})
+    private boolean failMidStream;
+
+    private LocalArtifactServer server;
+    private List<URI> uris;
+    private Path zapVersions;
+    private Path dir;
+
+    @Setup
+    public void setup() throws Exception {
+        server = LocalArtifactServer.start();
+        server.setLatency(Duration.ofMillis(latencyMs));
+        server.setBandwidth((long) bandwidthMiBps * MIB);
+        uris = new ArrayList<>(RELEASE_FILES.length);
+        for (String name : RELEASE_FILES) {
+            uris.add(server.addArtifact(name + ".zip", sizeMiB * MIB));
+        }
+        zapVersions = Paths.get("..", "ZapVersions.xml").toAbsolutePath().normalize();
+        dir = Files.createTempDirectory("downloads");
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        if (failMidStream) {
+            server.failAfter(Math.min(sizeMiB * MIB, RangedDownloader.DEFAULT_CHUNK_SIZE) / 2, 1);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.close();
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public Object rangedDownload(Transferred transferred) throws Exception {
+        ChecksummedFile file = download(createDownloader(), uris.get(0));
+        transferred.add(file.size());
+        return file;
+    }
+
+    @Benchmark
+    public Object singleStreamDownload(Transferred transferred) throws Exception {
+        RangedDownloader downloader =
+                new RangedDownloader(
+                        client,
+                        1,
+                        Long.MAX_VALUE,
+                        RangedDownloader.DEFAULT_MAX_ATTEMPTS,
+                        Duration.ZERO);
+        ChecksummedFile file = download(downloader, uris.get(0));
+        transferred.add(file.size());
+        return file;
+    }
+
+    @Benchmark
+    public Object plainDownload(Transferred transferred) throws Exception {
+        Path file = dir.resolve("file");
+        // The plain downloads are not resumed, a failure restarts them.
+        for (; ; ) {
+            HttpResponse<InputStream> response = client.get(uris.get(0));
+            try (InputStream in = response.body()) {
+                transferred.add(Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING));
+                return file;
+            } catch (IOException e) {
+                // Try again.
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object releaseUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(uris.size());
+        try {
+            RangedDownloader downloader = createDownloader();
+            List<Future<ChecksummedFile>> downloads = new ArrayList<>(uris.size());
+            for (URI uri : uris) {
+                downloads.add(executor.submit(() -> download(downloader, uri)));
+            }
+
+            List<ChecksummedFile> files = new ArrayList<>(downloads.size());
+            for (Future<ChecksummedFile> download : downloads) {
+                files.add(download.get());
+            }
+            return new ZapVersionsRewriter()
+                    .updateCore(
+                            core -> {
+                                for (int i = 0; i < files.size(); i++) {
+                                    ChecksummedFile file = files.get(i);
+                                    String keyPrefix = RELEASE_FILES[i];
+                                    core.setValue(
+                                            keyPrefix + ".hash",
+                                            ALGORITHM + ":" + file.checksum());
+                                    core.setValue(keyPrefix + ".size", String.valueOf(file.size()));
+                                }
+                            })
+                    .rewrite(zapVersions);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RangedDownloader createDownloader() {
+        return new RangedDownloader(
+                client,
+                RangedDownloader.DEFAULT_CONNECTIONS,
+                RangedDownloader.DEFAULT_CHUNK_SIZE,
+                RangedDownloader.DEFAULT_MAX_ATTEMPTS,
+                Duration.ZERO);
+    }
+
+    private ChecksummedFile download(RangedDownloader downloader, URI uri) throws Exception {
+        Path file = dir.resolve(uri.getPath().substring(1));
+        return downloader.download(uri, file, ALGORITHM, null);
+    }
+
+    /** The data transferred, reported per second. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Transferred {
+
+        public double mebibytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            mebibytes = 0;
+        }
+
+        void add(long bytes) {
+            mebibytes += (double) bytes / MIB;
+        }
+    }
+}
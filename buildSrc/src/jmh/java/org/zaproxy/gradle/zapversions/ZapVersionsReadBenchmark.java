@@ -0,0 +1,88 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/**
+ * Compares reading a {@code ZapVersions.xml} file with {@code ZapXmlConfiguration}, with {@link
+ * ZapVersions}, and through a {@link ZapVersionsSnapshot}.
+ *
+ * <p>The files are read from the root of the repository, the benchmarks are expected to run from
+ * {@code buildSrc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZapVersionsReadBenchmark {
+
+    @Param({"ZapVersions-2.17.xml", "ZapVersions.xml"})
+    private String fileName;
+
+    private Path source;
+    private Path snapshot;
+
+    @Setup
+    public void setup() throws Exception {
+        source = Paths.get("..", fileName).toAbsolutePath().normalize();
+        snapshot = Files.createTempFile("ZapVersions", ".snapshot");
+        Files.delete(snapshot);
+        ZapVersionsSnapshot.read(source, snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public Object zapXmlConfiguration() throws Exception {
+        return new ZapXmlConfiguration(source.toFile());
+    }
+
+    @Benchmark
+    public Object model() throws Exception {
+        return ZapVersions.read(source);
+    }
+
+    @Benchmark
+    public Object snapshot() throws Exception {
+        return ZapVersionsSnapshot.read(source, snapshot);
+    }
+}
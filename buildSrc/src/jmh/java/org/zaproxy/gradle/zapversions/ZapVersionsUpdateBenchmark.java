@@ -0,0 +1,108 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.configuration.XMLConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zaproxy.gradle.CustomXmlConfiguration;
+import org.zaproxy.gradle.FileUpdater;
+
+/**
+ * Compares the update of a {@code ZapVersions.xml} file through {@link CustomXmlConfiguration} with
+ * the update through {@link ZapVersionsRewriter}.
+ *
+ * <p>The files are read from the root of the repository, the benchmarks are expected to run from
+ * {@code buildSrc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZapVersionsUpdateBenchmark {
+
+    private static final String HASH =
+            "SHA-256:0000000000000000000000000000000000000000000000000000000000000000";
+
+    @Param({"ZapVersions-2.17.xml", "ZapVersions.xml"})
+    private String fileName;
+
+    private Path source;
+    private Path target;
+
+    @Setup
+    public void setup() throws Exception {
+        source = Paths.get("..", fileName).toAbsolutePath().normalize();
+        target = Files.createTempFile("ZapVersions", ".xml");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public void xmlConfigurationCoreUpdate() throws Exception {
+        XMLConfiguration zapVersionsXml = new CustomXmlConfiguration(source.toFile());
+        zapVersionsXml.setProperty("core.daily.hash", HASH);
+        zapVersionsXml.save(target.toFile());
+    }
+
+    @Benchmark
+    public void rewriterCoreUpdate() throws Exception {
+        ZapVersionsRewriter rewriter =
+                new ZapVersionsRewriter().updateCore(core -> core.setValue("daily.hash", HASH));
+        Files.write(target, rewriter.rewrite(source));
+    }
+
+    @Benchmark
+    public void rewriterAddOnUpdate() throws Exception {
+        ZapVersionsElement addOn = new ZapVersionsElement("addon_newAddOn");
+        addOn.setValue("version", "1");
+        addOn.setValue("hash", HASH);
+        Files.write(target, new ZapVersionsRewriter().putAddOn("newAddOn", addOn).rewrite(source));
+    }
+
+    @Benchmark
+    public void patcherAddOnUpdate() throws Exception {
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        ZapVersionsElement addOn = new ZapVersionsElement("addon_newAddOn");
+        addOn.setValue("version", "1");
+        addOn.setValue("hash", HASH);
+        new ZapVersionsRewriter().putAddOn("newAddOn", addOn).patch(target, new FileUpdater());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The manifest of an add-on, the {@code ZapAddOn.xml} file, with the data used in the {@code
+ * ZapVersions.xml} files.
+ *
+ * <p>The values are trimmed, {@code null} if the element does not exist. As with {@code
+ * XMLConfiguration}, the first element is used if repeated.
+ *
+ * @param name the name.
+ * @param description the description.
+ * @param author the author.
+ * @param version the version.
+ * @param semVer the semantic version.
+ * @param status the status.
+ * @param changes the changes.
+ * @param url the URL with more information.
+ * @param repo the URL of the repository.
+ * @param notBeforeVersion the minimum version of ZAP.
+ * @param notFromVersion the version of ZAP from which it's no longer supported.
+ * @param javaVersion the minimum Java version.
+ * @param dependencies the add-ons it depends on.
+ */
+record AddOnManifest(
+        String name,
+        String description,
+        String author,
+        String version,
+        String semVer,
+        String status,
+        String changes,
+        String url,
+        String repo,
+        String notBeforeVersion,
+        String notFromVersion,
+        String javaVersion,
+        List<Dependency> dependencies) {
+
+    static final String FILE_NAME = "ZapAddOn.xml";
+
+    private static final String DEPENDENCIES_ELEMENT = "dependencies";
+    private static final String JAVA_VERSION_PATH = "dependencies.javaversion";
+    private static final String ADD_ON_PATH = "dependencies.addons.addon";
+    private static final String ADD_ON_CHILD_PATH_PREFIX = ADD_ON_PATH + ".";
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    AddOnManifest {
+        dependencies = List.copyOf(dependencies);
+    }
+
+    /**
+     * Reads the manifest of the given add-on, reading just the manifest entry.
+     *
+     * @param addOn the add-on file.
+     * @return the manifest.
+     * @throws IOException if an error occurred while reading the add-on or parsing the manifest.
+     * @throws IllegalArgumentException if the add-on does not have the manifest.
+     * @see ZipEntryReader
+     */
+    static AddOnManifest read(Path addOn) throws IOException {
+        byte[] manifest = ZipEntryReader.read(addOn, FILE_NAME);
+        if (manifest == null) {
+            throw new IllegalArgumentException(
+                    "The specified add-on does not have the manifest: " + addOn);
+        }
+        try {
+            return parse(new ByteArrayInputStream(manifest));
+        } catch (IOException e) {
+            throw new IOException(
+                    "Failed to parse the manifest from the add-on: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a manifest from the given input stream.
+     *
+     * @param in the input stream.
+     * @return the manifest.
+     * @throws IOException if an error occurred while reading or if the manifest is not valid.
+     */
+    static AddOnManifest parse(InputStream in) throws IOException {
+        try {
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+            try {
+                return parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static AddOnManifest parse(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> values = new HashMap<>();
+        List<Map<String, String>> addOns = new ArrayList<>();
+        // The path of the current element, relative to the root element.
+        List<String> path = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int depth = 0;
+        int dependenciesElements = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    text.setLength(0);
+                    if (depth++ == 0) {
+                        continue;
+                    }
+                    path.add(reader.getLocalName());
+                    String key = String.join(".", path);
+                    if (DEPENDENCIES_ELEMENT.equals(key)) {
+                        dependenciesElements++;
+                    } else if (dependenciesElements == 1 && ADD_ON_PATH.equals(key)) {
+                        addOns.add(new HashMap<>());
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS,
+                        XMLStreamConstants.CDATA,
+                        XMLStreamConstants.SPACE -> text.append(reader.getText());
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (--depth == 0) {
+                        continue;
+                    }
+                    String key = String.join(".", path);
+                    String value = text.toString().trim();
+                    if (path.size() == 1) {
+                        values.putIfAbsent(key, value);
+                    } else if (dependenciesElements == 1) {
+                        if (JAVA_VERSION_PATH.equals(key)) {
+                            values.putIfAbsent(key, value);
+                        } else if (path.size() == 4 && key.startsWith(ADD_ON_CHILD_PATH_PREFIX)) {
+                            addOns.get(addOns.size() - 1).putIfAbsent(path.get(3), value);
+                        }
+                    }
+                    path.remove(path.size() - 1);
+                    text.setLength(0);
+                }
+                default -> {
+                    // Nothing to do.
+                }
+            }
+        }
+
+        List<Dependency> dependencies = new ArrayList<>(addOns.size());
+        for (Map<String, String> addOn : addOns) {
+            dependencies.add(
+                    new Dependency(
+                            addOn.get("id"),
+                            addOn.get("version"),
+                            addOn.get("semver"),
+                            addOn.get("not-before-version"),
+                            addOn.get("not-from-version")));
+        }
+        return new AddOnManifest(
+                values.get("name"),
+                values.get("description"),
+                values.get("author"),
+                values.get("version"),
+                values.get("semver"),
+                values.get("status"),
+                values.get("changes"),
+                values.get("url"),
+                values.get("repo"),
+                values.get("not-before-version"),
+                values.get("not-from-version"),
+                values.get(JAVA_VERSION_PATH),
+                dependencies);
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * A dependency on another add-on.
+     *
+     * @param id the ID of the add-on.
+     * @param version the version of the add-on.
+     * @param semVer the semantic version range of the add-on.
+     * @param notBeforeVersion the minimum version of the add-on.
+     * @param notFromVersion the version of the add-on from which it's no longer supported.
+     */
+    record Dependency(
+            String id,
+            String version,
+            String semVer,
+            String notBeforeVersion,
+            String notFromVersion) {}
+}
@@ -20,79 +20,98 @@
 package org.zaproxy.gradle;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.Set;
 import java.util.function.Consumer;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.HierarchicalConfiguration;
-import org.apache.commons.configuration.XMLConfiguration;
+import org.zaproxy.gradle.zapversions.ZapVersionsElement;
+import org.zaproxy.gradle.zapversions.ZapVersionsRewriter;
 
 interface AddOnZapVersionsUpdater extends UpdateZapVersionsEntries {
 
-    String ADD_ON_ELEMENT = "addon";
-    String ADD_ON_NODE_PREFIX = "addon_";
+    String ADD_ON_MANIFEST_FILE_NAME = AddOnManifest.FILE_NAME;
 
-    String ADD_ON_MANIFEST_FILE_NAME = "ZapAddOn.xml";
-
-    default void updateAddOn(Path addOn, String downloadUrl, LocalDate releaseDate)
+    default void updateAddOn(ChecksummedFile addOn, String downloadUrl, LocalDate releaseDate)
             throws Exception {
         updateAddOn(addOn, downloadUrl, releaseDate, e -> {});
     }
 
     default void updateAddOn(
-            Path addOn,
+            ChecksummedFile addOn,
             String downloadUrl,
             LocalDate releaseDate,
             Consumer<AddOnEntry> addOnEntryConsumer)
             throws Exception {
-        String addOnId = extractAddOnId(addOn.getFileName().toString());
-        AddOnEntry addOnEntry =
-                new AddOnEntry(
-                        addOnId,
-                        new AddOnConfBuilder(
-                                        addOn,
-                                        downloadUrl,
-                                        releaseDate,
-                                        createChecksumString(addOn))
-                                .build());
-
+        AddOnEntry addOnEntry = createAddOnEntry(addOn, downloadUrl, releaseDate);
         addOnEntryConsumer.accept(addOnEntry);
+        updateAddOns(List.of(addOnEntry));
+    }
+
+    default AddOnEntry createAddOnEntry(
+            ChecksummedFile addOn, String downloadUrl, LocalDate releaseDate) throws Exception {
+        return createAddOnEntry(addOn, readManifest(addOn), downloadUrl, releaseDate);
+    }
+
+    default AddOnEntry createAddOnEntry(
+            ChecksummedFile addOn,
+            AddOnManifest manifest,
+            String downloadUrl,
+            LocalDate releaseDate)
+            throws Exception {
+        return new AddOnEntry(
+                extractAddOnId(addOn.file().getFileName().toString()),
+                new AddOnConfBuilder(
+                                addOn.file(),
+                                downloadUrl,
+                                releaseDate,
+                                createChecksumString(addOn),
+                                addOn.size())
+                        .setManifest(manifest)
+                        .build());
+    }
 
-        updateZapVersionsFiles(
-                zapVersionsXml -> {
-                    SortedSet<AddOnEntry> addOns = new TreeSet<>();
-                    Arrays.stream(zapVersionsXml.getStringArray(ADD_ON_ELEMENT))
-                            .filter(id -> !addOnId.equals(id))
-                            .forEach(
-                                    id -> {
-                                        String key = ADD_ON_NODE_PREFIX + id;
-                                        addOns.add(
-                                                new AddOnEntry(
-                                                        id, zapVersionsXml.configurationAt(key)));
-                                        zapVersionsXml.clearTree(key);
-                                    });
-
-                    zapVersionsXml.clearTree(ADD_ON_ELEMENT);
-                    zapVersionsXml.clearTree(ADD_ON_NODE_PREFIX + addOnId);
-
-                    addOns.add(addOnEntry);
-
-                    addOns.forEach(
-                            e -> {
-                                zapVersionsXml.addProperty(ADD_ON_ELEMENT, e.getAddOnId());
-                                zapVersionsXml.addNodes(
-                                        ADD_ON_NODE_PREFIX + e.getAddOnId(),
-                                        e.getData().getRootNode().getChildren());
-                            });
-                });
+    /**
+     * Reads the manifest of the given add-on.
+     *
+     * @param addOn the add-on file, with its checksum.
+     * @return the manifest.
+     * @throws IOException if an error occurred while reading the add-on.
+     */
+    default AddOnManifest readManifest(ChecksummedFile addOn) throws IOException {
+        return AddOnManifest.read(addOn.file());
+    }
+
+    /**
+     * Updates the {@code ZapVersions.xml} files with the given add-ons, each file is read and
+     * written just once regardless of the number of add-ons.
+     *
+     * @param addOnEntries the add-ons to add or replace.
+     * @throws Exception if an error occurred while updating the files.
+     */
+    default void updateAddOns(Collection<AddOnEntry> addOnEntries) throws Exception {
+        if (addOnEntries.isEmpty()) {
+            return;
+        }
+
+        Set<String> addOnIds = new HashSet<>();
+        ZapVersionsRewriter rewriter = new ZapVersionsRewriter();
+        for (AddOnEntry addOnEntry : addOnEntries) {
+            String addOnId = addOnEntry.getAddOnId();
+            if (!addOnIds.add(addOnId)) {
+                throw new IllegalArgumentException(
+                        "The add-on was provided more than once: " + addOnId);
+            }
+            rewriter.putAddOn(
+                    addOnId,
+                    ZapVersionsElement.from(
+                            ZapVersionsRewriter.ADD_ON_NODE_PREFIX + addOnId,
+                            addOnEntry.getData()));
+        }
+        updateZapVersionsFiles(rewriter);
     }
 
     static String extractAddOnId(String fileName) {
@@ -160,102 +179,79 @@ interface AddOnZapVersionsUpdater extends UpdateZapVersionsEntries {
         private static final String SIZE_ELEMENT = "size";
         private static final String DATE_ELEMENT = "date";
 
+        private static final String DEFAULT_STATUS = "alpha";
+
         private final Path addOn;
         private final String downloadUrl;
         private final LocalDate releaseDate;
         private final String checksum;
+        private final long size;
+        private AddOnManifest manifest;
 
         public AddOnConfBuilder(
-                Path addOn, String downloadUrl, LocalDate releaseDate, String checksum) {
+                Path addOn, String downloadUrl, LocalDate releaseDate, String checksum, long size) {
             this.addOn = addOn;
             this.downloadUrl = downloadUrl;
             this.releaseDate = releaseDate;
             this.checksum = checksum;
+            this.size = size;
+        }
+
+        /**
+         * Sets the manifest of the add-on, if already read. Otherwise it's read from the add-on.
+         *
+         * @param manifest the manifest.
+         * @return this builder, for chaining.
+         */
+        AddOnConfBuilder setManifest(AddOnManifest manifest) {
+            this.manifest = manifest;
+            return this;
         }
 
         public HierarchicalConfiguration build() throws IOException {
-            XMLConfiguration manifest = new XMLConfiguration();
-            manifest.setEncoding("UTF-8");
-            manifest.setDelimiterParsingDisabled(true);
-
-            try (ZipFile addOnZip = new ZipFile(addOn.toFile())) {
-                ZipEntry manifestEntry = addOnZip.getEntry(ADD_ON_MANIFEST_FILE_NAME);
-                if (manifestEntry == null) {
-                    throw new IllegalArgumentException(
-                            "The specified add-on does not have the manifest: " + addOn);
-                }
-                try (InputStream is = addOnZip.getInputStream(manifestEntry)) {
-                    manifest.load(is);
-                } catch (ConfigurationException e) {
-                    throw new IOException(
-                            "Failed to parse the manifest from the add-on: " + e.getMessage(), e);
-                }
-            }
+            AddOnManifest manifest =
+                    this.manifest != null ? this.manifest : AddOnManifest.read(addOn);
 
             HierarchicalConfiguration configuration = new HierarchicalConfiguration();
             configuration.setDelimiterParsingDisabled(true);
-            append(NAME_ELEMENT, manifest, configuration);
-            append(DESCRIPTION_ELEMENT, manifest, configuration);
-            append(AUTHOR_ELEMENT, manifest, configuration);
-            append(VERSION_ELEMENT, manifest, configuration);
-            append(SEM_VER_ELEMENT, manifest, configuration);
+            appendIfNotEmpty(manifest.name(), configuration, NAME_ELEMENT);
+            appendIfNotEmpty(manifest.description(), configuration, DESCRIPTION_ELEMENT);
+            appendIfNotEmpty(manifest.author(), configuration, AUTHOR_ELEMENT);
+            appendIfNotEmpty(manifest.version(), configuration, VERSION_ELEMENT);
+            appendIfNotEmpty(manifest.semVer(), configuration, SEM_VER_ELEMENT);
             appendIfNotEmpty(addOn.getFileName().toString(), configuration, FILE_ELEMENT);
-            appendIfNotEmpty(manifest.getString("status", "alpha"), configuration, STATUS_ELEMENT);
-            append(CHANGES_ELEMENT, manifest, configuration);
+            appendIfNotEmpty(
+                    manifest.status() != null ? manifest.status() : DEFAULT_STATUS,
+                    configuration,
+                    STATUS_ELEMENT);
+            appendIfNotEmpty(manifest.changes(), configuration, CHANGES_ELEMENT);
             appendIfNotEmpty(downloadUrl, configuration, URL_ELEMENT);
             appendIfNotEmpty(checksum, configuration, HASH_ELEMENT);
-            append(URL_ELEMENT, manifest, INFO_ELEMENT, configuration);
-            append(REPO_ELEMENT, manifest, configuration);
+            appendIfNotEmpty(manifest.url(), configuration, INFO_ELEMENT);
+            appendIfNotEmpty(manifest.repo(), configuration, REPO_ELEMENT);
             appendIfNotEmpty(releaseDate.toString(), configuration, DATE_ELEMENT);
-            appendIfNotEmpty(String.valueOf(Files.size(addOn)), configuration, SIZE_ELEMENT);
-            append(NOT_BEFORE_VERSION_ELEMENT, manifest, configuration);
-            append(NOT_FROM_VERSION_ELEMENT, manifest, configuration);
+            appendIfNotEmpty(String.valueOf(size), configuration, SIZE_ELEMENT);
+            appendIfNotEmpty(
+                    manifest.notBeforeVersion(), configuration, NOT_BEFORE_VERSION_ELEMENT);
+            appendIfNotEmpty(manifest.notFromVersion(), configuration, NOT_FROM_VERSION_ELEMENT);
             appendDependencies(manifest, configuration);
             return configuration;
         }
 
-        private void append(
-                String nameElement, HierarchicalConfiguration from, HierarchicalConfiguration to) {
-            append(nameElement, from, nameElement, to);
-        }
-
-        private void append(
-                String nameElement,
-                HierarchicalConfiguration from,
-                String toNameElement,
-                HierarchicalConfiguration to) {
-            String value = from.getString(nameElement, "");
-            appendIfNotEmpty(value, to, toNameElement);
-        }
-
         private void appendIfNotEmpty(String value, HierarchicalConfiguration to, String key) {
-            if (!value.isEmpty()) {
+            if (value != null && !value.isEmpty()) {
                 to.setProperty(key, value);
             }
         }
 
-        private void appendDependencies(
-                HierarchicalConfiguration from, HierarchicalConfiguration to) {
-            List<HierarchicalConfiguration> dependencies =
-                    from.configurationsAt(DEPENDENCIES_ELEMENT);
-            if (dependencies.isEmpty()) {
-                return;
-            }
-
-            HierarchicalConfiguration node = dependencies.get(0);
-
+        private void appendDependencies(AddOnManifest from, HierarchicalConfiguration to) {
             appendIfNotEmpty(
-                    node.getString(DEPENDENCIES_JAVA_VERSION_ELEMENT, ""),
+                    from.javaVersion(),
                     to,
                     DEPENDENCIES_ELEMENT + "." + DEPENDENCIES_JAVA_VERSION_ELEMENT);
 
-            List<HierarchicalConfiguration> fields =
-                    node.configurationsAt(DEPENDENCIES_ADDONS_ALL_ELEMENTS);
-            if (fields.isEmpty()) {
-                return;
-            }
-
-            for (int i = 0, size = fields.size(); i < size; ++i) {
+            List<AddOnManifest.Dependency> dependencies = from.dependencies();
+            for (int i = 0, size = dependencies.size(); i < size; ++i) {
                 String elementBaseKey =
                         DEPENDENCIES_ELEMENT
                                 + "."
@@ -264,26 +260,19 @@ interface AddOnZapVersionsUpdater extends UpdateZapVersionsEntries {
                                 + i
                                 + ").";
 
-                HierarchicalConfiguration sub = fields.get(i);
+                AddOnManifest.Dependency dependency = dependencies.get(i);
 
+                appendIfNotEmpty(dependency.id(), to, elementBaseKey + ZAPADDON_ID_ELEMENT);
                 appendIfNotEmpty(
-                        sub.getString(ZAPADDON_ID_ELEMENT, ""),
-                        to,
-                        elementBaseKey + ZAPADDON_ID_ELEMENT);
-                appendIfNotEmpty(
-                        sub.getString(ZAPADDON_VERSION_ELEMENT, ""),
-                        to,
-                        elementBaseKey + ZAPADDON_VERSION_ELEMENT);
+                        dependency.version(), to, elementBaseKey + ZAPADDON_VERSION_ELEMENT);
                 appendIfNotEmpty(
-                        sub.getString(ZAPADDON_SEMVER_ELEMENT, ""),
-                        to,
-                        elementBaseKey + ZAPADDON_SEMVER_ELEMENT);
+                        dependency.semVer(), to, elementBaseKey + ZAPADDON_SEMVER_ELEMENT);
                 appendIfNotEmpty(
-                        sub.getString(ZAPADDON_NOT_BEFORE_VERSION_ELEMENT, ""),
+                        dependency.notBeforeVersion(),
                         to,
                         elementBaseKey + ZAPADDON_NOT_BEFORE_VERSION_ELEMENT);
                 appendIfNotEmpty(
-                        sub.getString(ZAPADDON_NOT_FROM_VERSION_ELEMENT, ""),
+                        dependency.notFromVersion(),
                         to,
                         elementBaseKey + ZAPADDON_NOT_FROM_VERSION_ELEMENT);
             }
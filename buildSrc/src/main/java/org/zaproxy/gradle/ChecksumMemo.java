@@ -0,0 +1,203 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A persistent memo of the checksums of files, to not read the files again while unchanged.
+ *
+ * <p>The checksums are keyed by algorithm and absolute path of the file, and are valid only while
+ * the size, last modified time, and file key (e.g. inode) of the file remain the same. The entries
+ * of files that no longer exist are dropped when the memo is loaded.
+ *
+ * <p>New entries are kept in memory until {@link #save() saved}, which merges them with the entries
+ * persisted in the meantime, under a file lock, as the memo might be shared with other builds.
+ *
+ * <p>Instances are thread-safe and keep track of the hits and misses.
+ */
+class ChecksumMemo {
+
+    private static final String KEY_SEPARATOR = ":";
+    private static final String VALUE_SEPARATOR = " ";
+    private static final String LOCK_EXTENSION = ".lock";
+
+    private final Path memoFile;
+    private final Properties entries;
+    private final Properties changes;
+    private final FileUpdater fileUpdater;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Constructs a {@code ChecksumMemo} persisted to the given file.
+     *
+     * @param memoFile the file of the memo, created if it does not exist.
+     * @throws IOException if an error occurred while creating the directory or reading the file.
+     */
+    ChecksumMemo(Path memoFile) throws IOException {
+        this.memoFile = memoFile;
+        this.entries = new Properties();
+        this.changes = new Properties();
+        this.fileUpdater = new FileUpdater();
+
+        Files.createDirectories(memoFile.getParent());
+        load(memoFile, entries);
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Reads the given file, calculating its size and checksum, unless already known.
+     *
+     * @param file the file to read.
+     * @param checksumAlgorithm the algorithm of the checksum.
+     * @return the file with its size and checksum.
+     * @throws IOException if an error occurred while reading the file.
+     * @see ChecksummedFile#read(Path, String)
+     */
+    ChecksummedFile read(Path file, String checksumAlgorithm) throws IOException {
+        String key = createKey(file, checksumAlgorithm);
+        String attributes = readAttributes(file);
+        String checksum = getChecksum(key, attributes);
+        if (checksum != null) {
+            hits.incrementAndGet();
+            return new ChecksummedFile(file, Files.size(file), checksumAlgorithm, checksum);
+        }
+
+        misses.incrementAndGet();
+        ChecksummedFile checksummedFile = ChecksummedFile.read(file, checksumAlgorithm);
+        if (attributes.equals(readAttributes(file))) {
+            store(key, attributes, checksummedFile.checksum());
+        }
+        return checksummedFile;
+    }
+
+    /**
+     * Puts the checksum of the given file, for example, calculated while downloading it.
+     *
+     * @param file the file with its checksum.
+     * @throws IOException if an error occurred while reading the attributes of the file.
+     */
+    void put(ChecksummedFile file) throws IOException {
+        store(
+                createKey(file.file(), file.checksumAlgorithm()),
+                readAttributes(file.file()),
+                file.checksum());
+    }
+
+    /**
+     * Saves the new entries, merged with the entries persisted by other builds in the meantime.
+     *
+     * @throws IOException if an error occurred while locking, reading, or writing the memo file.
+     */
+    synchronized void save() throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Path lockFile = memoFile.resolveSibling(memoFile.getFileName() + LOCK_EXTENSION);
+        try (FileChannel channel =
+                        FileChannel.open(
+                                lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            Properties merged = new Properties();
+            load(memoFile, merged);
+            merged.putAll(changes);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            merged.store(out, null);
+            fileUpdater.write(memoFile, out.toByteArray());
+        }
+        changes.clear();
+    }
+
+    private static void load(Path memoFile, Properties properties) throws IOException {
+        if (!Files.isRegularFile(memoFile)) {
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(memoFile)) {
+            properties.load(in);
+        }
+        properties.stringPropertyNames().stream()
+                .filter(key -> !Files.exists(Path.of(getPath(key))))
+                .forEach(properties::remove);
+    }
+
+    private static String createKey(Path file, String checksumAlgorithm) {
+        return checksumAlgorithm + KEY_SEPARATOR + file.toAbsolutePath().normalize();
+    }
+
+    private static String getPath(String key) {
+        return key.substring(key.indexOf(KEY_SEPARATOR) + 1);
+    }
+
+    private static String readAttributes(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.size()
+                + VALUE_SEPARATOR
+                + attributes.lastModifiedTime()
+                + VALUE_SEPARATOR
+                + attributes.fileKey();
+    }
+
+    private synchronized String getChecksum(String key, String attributes) {
+        String value = entries.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+
+        int idx = value.indexOf(VALUE_SEPARATOR);
+        if (!value.substring(idx + 1).equals(attributes)) {
+            return null;
+        }
+        return value.substring(0, idx);
+    }
+
+    private synchronized void store(String key, String attributes, String checksum) {
+        String value = checksum + VALUE_SEPARATOR + attributes;
+        if (!value.equals(entries.put(key, value))) {
+            changes.put(key, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses", getHits(), getMisses());
+    }
+}
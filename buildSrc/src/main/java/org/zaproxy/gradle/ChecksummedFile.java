@@ -0,0 +1,115 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * A file along with its size and checksum, both obtained while the file is written or read, in a
+ * single pass.
+ *
+ * @param file the file.
+ * @param size the size of the file, in bytes.
+ * @param checksumAlgorithm the algorithm of the checksum, e.g. {@code SHA-256}.
+ * @param checksum the checksum, hex encoded.
+ */
+record ChecksummedFile(Path file, long size, String checksumAlgorithm, String checksum) {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Reads the given file, calculating its size and checksum.
+     *
+     * @param file the file to read.
+     * @param checksumAlgorithm the algorithm of the checksum.
+     * @return the file with its size and checksum.
+     * @throws IOException if an error occurred while reading the file.
+     * @see FileDigests
+     */
+    static ChecksummedFile read(Path file, String checksumAlgorithm) throws IOException {
+        FileDigests digests = FileDigests.read(file, checksumAlgorithm);
+        return new ChecksummedFile(
+                file, digests.size(), checksumAlgorithm, digests.get(checksumAlgorithm));
+    }
+
+    /**
+     * Writes the contents of the given input stream into the given file, calculating its size and
+     * checksum while writing.
+     *
+     * <p>The write stops if the thread is interrupted.
+     *
+     * @param in the input stream with the contents.
+     * @param file the file to write, must not exist.
+     * @param checksumAlgorithm the algorithm of the checksum.
+     * @return the file with its size and checksum.
+     * @throws IOException if an error occurred while reading or writing.
+     */
+    static ChecksummedFile write(InputStream in, Path file, String checksumAlgorithm)
+            throws IOException {
+        MessageDigest digest = DigestUtils.getDigest(checksumAlgorithm);
+        long size = 0;
+        try (InputStream digestIn = new DigestInputStream(in, digest);
+                OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read; (read = digestIn.read(buffer)) != -1; ) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Interrupted while writing " + file);
+                }
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        }
+        return new ChecksummedFile(file, size, checksumAlgorithm, toHex(digest));
+    }
+
+    /**
+     * Verifies that the checksum is the expected one.
+     *
+     * @param expectedChecksum the expected checksum, {@code null} or empty to not verify.
+     * @return the checksum.
+     * @throws IllegalArgumentException if the checksum does not match.
+     */
+    String verifyChecksum(String expectedChecksum) {
+        if (expectedChecksum == null
+                || expectedChecksum.isEmpty()
+                || checksum.equals(expectedChecksum)) {
+            return checksum;
+        }
+
+        throw new IllegalArgumentException(
+                String.format(
+                        "Checksums do not match for: %s\nExpected:\n%s\nActual:\n%s",
+                        file, expectedChecksum, checksum));
+    }
+
+    private static String toHex(MessageDigest digest) {
+        return Hex.encodeHexString(digest.digest());
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.gradle;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
@@ -29,6 +30,8 @@ import java.time.ZoneId;
 import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.TaskAction;
@@ -137,6 +140,8 @@ public abstract class CreateNewsMainRelease extends DefaultTask {
 
     public abstract static class CreateNewsEntry implements WorkAction<CreateNewsEntryParameters> {
 
+        private static final Logger LOGGER = Logging.getLogger(CreateNewsEntry.class);
+
         private static final String NEWS_KEY = "news.";
         private static final String NEWS_ID_KEY = NEWS_KEY + "id";
         private static final String NEWS_DEFAULT_KEY = NEWS_KEY + "default.";
@@ -153,7 +158,12 @@ public abstract class CreateNewsMainRelease extends DefaultTask {
                 news.setProperty(NEWS_ID_KEY, id);
                 news.setProperty(NEWS_DEFAULT_ITEM_KEY, getParameters().getItem().get());
                 news.setProperty(NEWS_DEFAULT_LINK_KEY, getParameters().getLink().get());
-                news.save(file);
+
+                ByteArrayOutputStream contents = new ByteArrayOutputStream();
+                news.save(contents);
+                FileUpdater fileUpdater = new FileUpdater();
+                fileUpdater.write(file.toPath(), contents.toByteArray());
+                LOGGER.info("News file {}: {}", file, fileUpdater);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,245 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of downloaded files, addressed by their checksum.
+ *
+ * <p>The files are stored in {@code objects/<algorithm>/<checksum>} and looked up by the expected
+ * checksum, files without one are never obtained from the cache. The cache is bounded in size, the
+ * least recently used files are evicted first.
+ *
+ * <p>Files put into the cache were already verified while downloaded, they are hard-linked
+ * atomically into the cache, or copied if the file system does not support it. Files obtained from
+ * the cache are copied out, so that changes to them do not affect the cache, and verified against
+ * the checksum while copied, those that do not match (e.g. changed through the link) are removed
+ * from the cache. Instances are thread-safe and keep track of the hits and misses.
+ */
+class DownloadCache {
+
+    private static final String OBJECTS_DIR = "objects";
+
+    private final Path dir;
+    private final Path objectsDir;
+    private final long maxSize;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private long size;
+
+    /**
+     * Constructs a {@code DownloadCache} in the given directory.
+     *
+     * @param dir the directory of the cache, created if it does not exist.
+     * @param maxSize the maximum size of the files in the cache, in bytes.
+     * @throws IOException if an error occurred while creating the directory or reading its size.
+     */
+    DownloadCache(Path dir, long maxSize) throws IOException {
+        this.dir = dir;
+        this.objectsDir = dir.resolve(OBJECTS_DIR);
+        this.maxSize = maxSize;
+
+        Files.createDirectories(objectsDir);
+        for (Path object : getObjects()) {
+            size += getSize(object);
+        }
+    }
+
+    Path getDir() {
+        return dir;
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the file from the cache into the given target, verifying its checksum.
+     *
+     * @param checksumAlgorithm the checksum algorithm.
+     * @param expectedChecksum the expected checksum, {@code null} or empty for a miss.
+     * @param target where to place the file, must not exist.
+     * @return the file, or {@code null} if not in the cache.
+     * @throws IOException if an error occurred while placing the file.
+     */
+    ChecksummedFile get(String checksumAlgorithm, String expectedChecksum, Path target)
+            throws IOException {
+        if (expectedChecksum == null || expectedChecksum.isEmpty()) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        Path object = getObject(checksumAlgorithm, expectedChecksum);
+        ChecksummedFile file;
+        try (InputStream in = Files.newInputStream(object)) {
+            file = ChecksummedFile.write(in, target, checksumAlgorithm);
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        if (!expectedChecksum.equals(file.checksum())) {
+            Files.delete(target);
+            remove(object);
+            misses.incrementAndGet();
+            return null;
+        }
+
+        Files.setLastModifiedTime(object, FileTime.fromMillis(System.currentTimeMillis()));
+        hits.incrementAndGet();
+        return file;
+    }
+
+    /**
+     * Puts the given file into the cache.
+     *
+     * <p>The file is hard-linked into the cache, or copied if not possible. Least recently used
+     * files are evicted if the cache exceeds its maximum size.
+     *
+     * @param file the file, with the checksum verified.
+     * @throws IOException if an error occurred while adding the file.
+     */
+    void put(ChecksummedFile file) throws IOException {
+        Path object = getObject(file.checksumAlgorithm(), file.checksum());
+        if (Files.isRegularFile(object)) {
+            return;
+        }
+
+        Files.createDirectories(object.getParent());
+        Path tempFile = object.resolveSibling("." + object.getFileName() + "." + UUID.randomUUID());
+        try {
+            link(file.file(), tempFile);
+            move(tempFile, object);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        synchronized (this) {
+            size += file.size();
+            if (size > maxSize) {
+                evict();
+            }
+        }
+    }
+
+    private Path getObject(String checksumAlgorithm, String checksum) {
+        return objectsDir.resolve(checksumAlgorithm).resolve(checksum);
+    }
+
+    private synchronized void remove(Path object) throws IOException {
+        long objectSize = getSize(object);
+        if (Files.deleteIfExists(object)) {
+            size -= objectSize;
+        }
+    }
+
+    /**
+     * Evicts the least recently used files until the cache is within its maximum size. The size
+     * is also recalculated, the cache might be shared with other builds.
+     */
+    private synchronized void evict() throws IOException {
+        List<Path> objects = new ArrayList<>(getObjects());
+        objects.sort(Comparator.comparing(DownloadCache::getLastModifiedTime));
+
+        size = 0;
+        for (Path object : objects) {
+            size += getSize(object);
+        }
+
+        for (Path object : objects) {
+            if (size <= maxSize) {
+                break;
+            }
+            remove(object);
+        }
+    }
+
+    private List<Path> getObjects() throws IOException {
+        try (Stream<Path> stream = Files.walk(objectsDir)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(e -> !e.getFileName().toString().startsWith("."))
+                    .toList();
+        }
+    }
+
+    private static long getSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(
+                    source,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%s)", getHits(), getMisses(), dir);
+    }
+}
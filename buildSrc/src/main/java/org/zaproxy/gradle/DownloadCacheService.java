@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A build service that shares the {@link DownloadCache} and the {@link ChecksumMemo} between all
+ * the tasks of the build, saving the memo and logging their hits and misses at the end of the
+ * build.
+ */
+public abstract class DownloadCacheService
+        implements BuildService<DownloadCacheService.Params>, AutoCloseable {
+
+    private static final Logger LOGGER = Logging.getLogger(DownloadCacheService.class);
+
+    private static final String CHECKSUM_MEMO_FILE = "checksums.properties";
+
+    private final DownloadCache cache;
+    private final ChecksumMemo checksumMemo;
+
+    public DownloadCacheService() {
+        Path dir = getParameters().getDirectory().get().getAsFile().toPath();
+        try {
+            cache = new DownloadCache(dir, getParameters().getMaxSize().get());
+            checksumMemo = new ChecksumMemo(dir.resolve(CHECKSUM_MEMO_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the download cache.", e);
+        }
+    }
+
+    DownloadCache getCache() {
+        return cache;
+    }
+
+    ChecksumMemo getChecksumMemo() {
+        return checksumMemo;
+    }
+
+    @Override
+    public void close() {
+        try {
+            checksumMemo.save();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save the checksum memo: {}", e.getMessage());
+        }
+
+        if (cache.getHits() + cache.getMisses() != 0) {
+            LOGGER.lifecycle("Download cache: {}", cache);
+        }
+        if (checksumMemo.getHits() + checksumMemo.getMisses() != 0) {
+            LOGGER.lifecycle("Checksum memo: {}", checksumMemo);
+        }
+    }
+
+    public interface Params extends BuildServiceParameters {
+
+        DirectoryProperty getDirectory();
+
+        Property<Long> getMaxSize();
+    }
+}
@@ -22,20 +22,29 @@ package org.zaproxy.gradle;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
-import org.zaproxy.zap.utils.ZapXmlConfiguration;
+import org.zaproxy.gradle.zapversions.ZapVersions;
 
 /** A task that downloads the add-ons released in the last commit, if any. */
 public abstract class DownloadReleasedAddOns extends DefaultTask {
 
-    private static final String ADDON_ELEMENT_PREFIX = "addon_";
-    private static final String URL_ELEMENT = ".url";
-    private static final String HASH_ELEMENT = ".hash";
+    public DownloadReleasedAddOns() {
+        getMaxConcurrentDownloads().convention(4);
+    }
 
     @InputFile
     public abstract RegularFileProperty getReleaseState();
@@ -49,6 +58,9 @@ public abstract class DownloadReleasedAddOns extends DefaultTask {
     @OutputDirectory
     public abstract DirectoryProperty getOutputDir();
 
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentDownloads();
+
     @TaskAction
     void downloadAddOns() throws Exception {
         ReleaseState releaseState = ReleaseState.read(getReleaseState().getAsFile().get());
@@ -59,34 +71,118 @@ public abstract class DownloadReleasedAddOns extends DefaultTask {
 
         Set<String> deniedAddOns = TaskUtils.readDeniedAddOns(getDeniedAddOns());
         Path outputDir = getOutputDir().getAsFile().get().toPath();
-        ZapXmlConfiguration zapVersions =
-                new ZapXmlConfiguration(getZapVersions().getAsFile().get());
-        for (ReleaseState.AddOnChange addOn : addOns) {
-            String addOnId = addOn.getId();
-            if (!addOn.isNewVersion() || deniedAddOns.contains(addOnId)) {
-                continue;
+        ZapVersions zapVersions = TaskUtils.readZapVersions(this, getZapVersions());
+        List<String> addOnIds =
+                addOns.stream()
+                        .filter(ReleaseState.AddOnChange::isNewVersion)
+                        .map(ReleaseState.AddOnChange::getId)
+                        .filter(addOnId -> !deniedAddOns.contains(addOnId))
+                        .toList();
+        if (addOnIds.isEmpty()) {
+            return;
+        }
+
+        logSummary(downloadAddOns(zapVersions, addOnIds, outputDir));
+    }
+
+    /**
+     * Downloads the add-ons concurrently. A failed add-on does not affect the others.
+     *
+     * <p>The checksums of the files are verified while downloaded, or obtained from the download
+     * cache.
+     *
+     * @param zapVersions the ZapVersions with the data of the add-ons.
+     * @param addOnIds the IDs of the add-ons to download.
+     * @param outputDir the directory where to save the add-ons.
+     * @return the results of the downloads, in the same order as the IDs.
+     * @throws InterruptedException if interrupted while waiting for the downloads.
+     */
+    private List<AddOnDownload> downloadAddOns(
+            ZapVersions zapVersions, List<String> addOnIds, Path outputDir)
+            throws InterruptedException {
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.min(addOnIds.size(), getMaxConcurrentDownloads().get()));
+        CompletionService<AddOnDownload> downloadService =
+                new ExecutorCompletionService<>(executor);
+        try {
+            for (int i = 0; i < addOnIds.size(); i++) {
+                int index = i;
+                downloadService.submit(
+                        () -> downloadAddOn(zapVersions, index, addOnIds.get(index), outputDir));
             }
 
-            try {
-                String url = getString(zapVersions, addOnId, URL_ELEMENT);
-                String[] checksumData = getString(zapVersions, addOnId, HASH_ELEMENT).split(":", 2);
-                String checksumAlgorithm = checksumData[0];
-                String checksum = checksumData[1];
-                Path downloadedAddOn = TaskUtils.downloadAddOn(this, url, outputDir);
-                TaskUtils.calculateChecksum(downloadedAddOn, checksumAlgorithm, checksum);
-            } catch (Exception e) {
-                getLogger()
-                        .error(
-                                "Failed to download the add-on {}. Cause: {}",
-                                addOnId,
-                                e.getMessage(),
-                                e);
+            AddOnDownload[] results = new AddOnDownload[addOnIds.size()];
+            for (int i = 0; i < addOnIds.size(); i++) {
+                AddOnDownload download = getResult(downloadService.take());
+                results[download.index()] = download;
             }
+            return List.of(results);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    private static String getString(
-            ZapXmlConfiguration zapVersions, String addOnId, String element) {
-        return zapVersions.getString(ADDON_ELEMENT_PREFIX + addOnId + element);
+    private AddOnDownload downloadAddOn(
+            ZapVersions zapVersions, int index, String addOnId, Path outputDir) {
+        long start = System.nanoTime();
+        try {
+            ZapVersions.AddOn addOnData = zapVersions.requireAddOn(addOnId);
+            String[] checksumData = addOnData.hash().split(":", 2);
+            ChecksummedFile file =
+                    TaskUtils.downloadAddOn(
+                            this, addOnData.url(), outputDir, checksumData[0], checksumData[1]);
+            return new AddOnDownload(index, addOnId, file, elapsedMs(start), null);
+        } catch (Exception e) {
+            return new AddOnDownload(index, addOnId, null, elapsedMs(start), e);
+        }
     }
+
+    private static AddOnDownload getResult(Future<AddOnDownload> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // The downloads handle their own failures.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void logSummary(List<AddOnDownload> downloads) {
+        int failures = 0;
+        for (AddOnDownload download : downloads) {
+            if (download.failure() == null) {
+                getLogger()
+                        .lifecycle(
+                                "Downloaded {}: {} bytes in {} ms.",
+                                download.id(),
+                                download.file().size(),
+                                download.durationMs());
+                continue;
+            }
+
+            failures++;
+            Exception e = download.failure();
+            getLogger()
+                    .error(
+                            "Failed to download the add-on {} after {} ms. Cause: {}",
+                            download.id(),
+                            download.durationMs(),
+                            e.getMessage(),
+                            e);
+        }
+        getLogger()
+                .lifecycle(
+                        "Downloaded {} of {} add-ons, {} failed.",
+                        downloads.size() - failures,
+                        downloads.size(),
+                        failures);
+    }
+
+    private record AddOnDownload(
+            int index, String id, ChecksummedFile file, long durationMs, Exception failure) {}
 }
@@ -0,0 +1,99 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * The digests of a file, in one or more algorithms, along with its size, all obtained reading the
+ * file once.
+ *
+ * @param file the file.
+ * @param size the size of the file, in bytes.
+ * @param digests the digests, hex encoded, by algorithm, in the order they were requested.
+ */
+record FileDigests(Path file, long size, Map<String, String> digests) {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Reads the given file, calculating its size and digests.
+     *
+     * <p>The file is read into a heap buffer, which all the digests are updated from without
+     * further copies.
+     *
+     * @param file the file to read.
+     * @param algorithms the algorithms of the digests, e.g. {@code SHA-256}.
+     * @return the size and digests of the file.
+     * @throws IOException if an error occurred while reading the file.
+     * @throws IllegalArgumentException if any of the algorithms is not supported.
+     */
+    static FileDigests read(Path file, String... algorithms) throws IOException {
+        MessageDigest[] messageDigests = new MessageDigest[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            messageDigests[i] = DigestUtils.getDigest(algorithms[i]);
+        }
+
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int bufferSize = (int) Math.min(BUFFER_SIZE, channel.size() + 1);
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            byte[] array = buffer.array();
+            for (int read; (read = channel.read(buffer)) != -1; ) {
+                for (MessageDigest messageDigest : messageDigests) {
+                    messageDigest.update(array, 0, read);
+                }
+                size += read;
+                buffer.clear();
+            }
+        }
+
+        Map<String, String> digests = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.length; i++) {
+            digests.put(algorithms[i], Hex.encodeHexString(messageDigests[i].digest()));
+        }
+        return new FileDigests(file, size, Collections.unmodifiableMap(digests));
+    }
+
+    /**
+     * Gets the digest of the given algorithm.
+     *
+     * @param algorithm the algorithm of the digest.
+     * @return the digest, hex encoded.
+     * @throws IllegalArgumentException if the digest of the given algorithm was not calculated.
+     */
+    String get(String algorithm) {
+        String digest = digests.get(algorithm);
+        if (digest == null) {
+            throw new IllegalArgumentException("No digest calculated with: " + algorithm);
+        }
+        return digest;
+    }
+}
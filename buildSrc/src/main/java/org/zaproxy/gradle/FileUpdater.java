@@ -0,0 +1,194 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Writes files only if their contents changed, atomically.
+ *
+ * <p>The new contents are compared with the existing ones through their SHA-256 hash, the file is
+ * not written if they are equal. Otherwise the contents are written into a temporary file in the
+ * same directory, which is then moved over the file, atomically if supported by the file system.
+ * The file is never left partially written.
+ *
+ * <p>Instances are thread-safe and keep track of the files and bytes written and skipped.
+ */
+public class FileUpdater {
+
+    private final AtomicInteger filesWritten = new AtomicInteger();
+    private final AtomicInteger filesSkipped = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong bytesSkipped = new AtomicLong();
+
+    /**
+     * Writes the given contents into the given file, if different.
+     *
+     * @param file the file to write.
+     * @param contents the new contents.
+     * @return {@code true} if the file was written, {@code false} if it already had the contents.
+     * @throws IOException if an error occurred while reading or writing the file.
+     */
+    public boolean write(Path file, byte[] contents) throws IOException {
+        if (hasContents(file, contents.length, DigestUtils.sha256(contents))) {
+            return skipped(contents.length);
+        }
+        replace(
+                file,
+                channel -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(contents);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                },
+                false);
+        return true;
+    }
+
+    /**
+     * Writes the contents produced by the given writer into the given file, if different.
+     *
+     * <p>The writer is always called, the contents are compared after being written into the
+     * temporary file.
+     *
+     * @param file the file to write.
+     * @param writer the writer of the new contents.
+     * @return {@code true} if the file was written, {@code false} if it already had the contents.
+     * @throws IOException if an error occurred while reading or writing the file.
+     */
+    public boolean write(Path file, ContentsWriter writer) throws IOException {
+        return replace(file, writer, true);
+    }
+
+    public int getFilesWritten() {
+        return filesWritten.get();
+    }
+
+    public int getFilesSkipped() {
+        return filesSkipped.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getBytesSkipped() {
+        return bytesSkipped.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d files written (%d bytes), %d files unchanged (%d bytes)",
+                getFilesWritten(), getBytesWritten(), getFilesSkipped(), getBytesSkipped());
+    }
+
+    private boolean replace(Path file, ContentsWriter writer, boolean compare) throws IOException {
+        Path tempFile = createTempFile(file);
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                writer.write(channel);
+            }
+
+            long size = Files.size(tempFile);
+            if (compare && hasContents(file, size, sha256(tempFile))) {
+                return skipped(size);
+            }
+
+            move(tempFile, file);
+            filesWritten.incrementAndGet();
+            bytesWritten.addAndGet(size);
+            return true;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private boolean skipped(long size) {
+        filesSkipped.incrementAndGet();
+        bytesSkipped.addAndGet(size);
+        return false;
+    }
+
+    private static boolean hasContents(Path file, long size, byte[] hash) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != size) {
+            return false;
+        }
+        return MessageDigest.isEqual(sha256(file), hash);
+    }
+
+    private static byte[] sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return DigestUtils.sha256(in);
+        }
+    }
+
+    private static Path createTempFile(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path tempFile =
+                Files.createFile(dir.resolve("." + file.getFileName() + "." + UUID.randomUUID()));
+        if (Files.isRegularFile(file)) {
+            try {
+                Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(file));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system, nothing to preserve.
+            }
+        }
+        return tempFile;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(
+                    source,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Writes the contents of a file. */
+    @FunctionalInterface
+    public interface ContentsWriter {
+
+        /**
+         * Writes the contents into the given channel.
+         *
+         * @param channel the channel of the (temporary) file.
+         * @throws IOException if an error occurred while writing.
+         */
+        void write(FileChannel channel) throws IOException;
+    }
+}
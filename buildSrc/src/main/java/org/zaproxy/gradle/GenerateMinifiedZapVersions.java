@@ -0,0 +1,141 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.zapversions.ZapVersionsMinifier;
+
+/**
+ * A task that generates the variants of the {@code ZapVersions.xml} files to publish: minified
+ * ({@code .min.xml}) and minified and gzipped ({@code .min.xml.gz}).
+ *
+ * <p>The minified files, published along with the {@code ZapVersions.xml} files, are written into
+ * their own directory, separate from the gzipped files, which are not kept in the repository. It
+ * also writes a report with the sizes of the files and their variants.
+ */
+public abstract class GenerateMinifiedZapVersions extends DefaultTask {
+
+    static final String MINIFIED_EXTENSION = ".min.xml";
+    static final String GZIP_EXTENSION = ".gz";
+
+    private static final String XML_EXTENSION = ".xml";
+
+    public GenerateMinifiedZapVersions() {
+        setGroup("ZAP");
+        setDescription("Generates the minified and gzipped variants of the ZapVersions files.");
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getZapVersions();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getGzipOutputDir();
+
+    @OutputFile
+    public abstract RegularFileProperty getSizeReport();
+
+    @TaskAction
+    void generate() throws IOException {
+        Path outputDir = getOutputDir().getAsFile().get().toPath();
+        Path gzipOutputDir = getGzipOutputDir().getAsFile().get().toPath();
+        FileUpdater fileUpdater = new FileUpdater();
+        List<String> report = new ArrayList<>();
+        report.add(
+                String.format("%-24s %10s %10s %10s", "File", "Original", "Minified", "Gzipped"));
+        long totalOriginal = 0;
+        long totalGzipped = 0;
+        for (File file : getZapVersions().getFiles().stream().sorted().toList()) {
+            Path zapVersions = file.toPath();
+            String name = file.getName();
+            String baseName = name.substring(0, name.length() - XML_EXTENSION.length());
+
+            byte[] minified = minify(zapVersions);
+            byte[] gzipped = gzip(minified);
+            fileUpdater.write(outputDir.resolve(baseName + MINIFIED_EXTENSION), minified);
+            fileUpdater.write(
+                    gzipOutputDir.resolve(baseName + MINIFIED_EXTENSION + GZIP_EXTENSION),
+                    gzipped);
+
+            long size = Files.size(zapVersions);
+            totalOriginal += size;
+            totalGzipped += gzipped.length;
+            report.add(
+                    String.format(
+                            "%-24s %10d %10d %10d", name, size, minified.length, gzipped.length));
+        }
+
+        report.add("");
+        fileUpdater.write(
+                getSizeReport().getAsFile().get().toPath(),
+                String.join("\n", report).getBytes(StandardCharsets.UTF_8));
+        getLogger()
+                .lifecycle(
+                        "ZapVersions files: {} bytes, gzipped minified: {} bytes.",
+                        totalOriginal,
+                        totalGzipped);
+    }
+
+    private static byte[] minify(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Files.size(file));
+        try (InputStream in = Files.newInputStream(file)) {
+            ZapVersionsMinifier.minify(in, out);
+        } catch (IOException e) {
+            throw new IOException("Failed to minify " + file + ": " + e.getMessage(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip =
+                new GZIPOutputStream(out) {
+                    {
+                        def.setLevel(Deflater.BEST_COMPRESSION);
+                    }
+                }) {
+            gzip.write(contents);
+        }
+        return out.toByteArray();
+    }
+}
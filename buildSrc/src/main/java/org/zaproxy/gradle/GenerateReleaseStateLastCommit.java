@@ -19,32 +19,13 @@
  */
 package org.zaproxy.gradle;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.apache.commons.configuration.ConfigurationException;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.lib.ObjectId;
-import org.eclipse.jgit.lib.ObjectReader;
-import org.eclipse.jgit.lib.Ref;
-import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevTree;
-import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
-import org.eclipse.jgit.treewalk.AbstractTreeIterator;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
-import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
@@ -69,7 +50,6 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
     private static final String ADDON_VERSION_ELEMENT = "version";
 
     private static final String GIT_DIR = ".git";
-    private static final String HEAD_REF = "HEAD";
 
     public GenerateReleaseStateLastCommit() {
         getGitDir().value(getProject().getLayout().getProjectDirectory().dir(GIT_DIR));
@@ -118,94 +98,23 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
     }
 
     private static void readVersions(
-            File projectDir,
+            File gitDir,
             String pathZapVersions,
             BiConsumer<ZapXmlConfiguration, ZapXmlConfiguration> versionsConsumer) {
-        try (Repository repository = createRepository(projectDir);
-                RevWalk walk = new RevWalk(repository)) {
-            RevCommit headCommit = walk.parseCommit(getHead(repository).getObjectId());
-
-            walk.markStart(headCommit);
-            ZapXmlConfiguration currentVersions = null;
-            Iterator<RevCommit> it = walk.iterator();
-            if (it.hasNext()) {
-                try (TreeWalk treeWalk = new TreeWalk(repository)) {
-                    treeWalk.addTree(walk.parseTree(it.next().getTree().getId()));
-                    treeWalk.setRecursive(true);
-                    treeWalk.setFilter(PathFilterGroup.createFromStrings(pathZapVersions));
-                    if (treeWalk.next()) {
-                        currentVersions =
-                                createXmlConfiguration(repository, treeWalk.getObjectId(0));
-                    }
-                }
-            }
-            if (currentVersions == null) {
-                throw new TaskException("File not found in the current commit: " + pathZapVersions);
-            }
-
-            RevCommit parent;
-            if (isMergeCommit(headCommit)) {
-                parent =
-                        getCommonAncestor(
-                                repository,
-                                headCommit.getParent(0).getId(),
-                                headCommit.getParent(1).getId());
-            } else {
-                parent = headCommit.getParent(0);
-            }
-
-            ZapXmlConfiguration previousVersions = currentVersions;
-            Optional<DiffEntry> diffResult =
-                    isFileChanged(repository, parent, headCommit, pathZapVersions);
-            if (diffResult.isPresent()) {
-                previousVersions =
-                        createXmlConfiguration(
-                                repository, diffResult.get().getOldId().toObjectId());
-            }
-
-            versionsConsumer.accept(previousVersions, currentVersions);
-        } catch (IOException e) {
-            throw new TaskException(
-                    "An error occurred while using the Git repository: " + e.getMessage(), e);
-        }
-    }
-
-    private static Repository createRepository(File projectDir) {
-        try {
-            return new FileRepositoryBuilder().setGitDir(projectDir).build();
-        } catch (IOException e) {
-            throw new TaskException("Failed to read the Git repository: " + e.getMessage(), e);
+        GitFileRevisions revisions = GitFileRevisions.read(gitDir, pathZapVersions, 0);
+        ZapXmlConfiguration currentVersions = createXmlConfiguration(revisions.getCurrent());
+        ZapXmlConfiguration previousVersions = currentVersions;
+        if (revisions.isChanged()) {
+            previousVersions = createXmlConfiguration(revisions.getPrevious());
         }
+        versionsConsumer.accept(previousVersions, currentVersions);
     }
 
-    private static Ref getHead(Repository repository) {
-        Ref head;
-        try {
-            head = repository.findRef(HEAD_REF);
-        } catch (IOException e) {
-            throw new TaskException(
-                    String.format(
-                            "Failed to get the ref %s from the Git repository: %s",
-                            HEAD_REF, e.getMessage()),
-                    e);
-        }
-        if (head == null) {
-            throw new TaskException(
-                    String.format("No ref %s found in the Git repository.", HEAD_REF));
-        }
-        return head;
-    }
-
-    private static boolean isMergeCommit(RevCommit commit) {
-        return commit.getParentCount() > 1;
-    }
-
-    private static ZapXmlConfiguration createXmlConfiguration(
-            Repository repository, ObjectId objectId) {
+    private static ZapXmlConfiguration createXmlConfiguration(byte[] contents) {
         ZapXmlConfiguration config = new ZapXmlConfiguration();
         try {
-            config.load(repository.open(objectId).openStream());
-        } catch (ConfigurationException | IOException e) {
+            config.load(new ByteArrayInputStream(contents));
+        } catch (ConfigurationException e) {
             throw new TaskException(
                     "Failed to read the file from the Git repository: " + e.getMessage(), e);
         }
@@ -247,67 +156,4 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
     private static String getAddOnVersion(ZapXmlConfiguration versions, String addOnKey) {
         return versions.getString(addOnKey + "." + ADDON_VERSION_ELEMENT, null);
     }
-
-    private static RevCommit getCommonAncestor(
-            Repository repository, ObjectId commitA, ObjectId commitB) {
-        List<RevCommit> treeA = walkTree(repository, commitA, 50);
-        List<RevCommit> treeB = walkTree(repository, commitB, 50);
-
-        Set<RevCommit> common = new HashSet<>(treeA);
-        for (RevCommit commit : treeB) {
-            if (!common.add(commit)) {
-                return commit;
-            }
-        }
-
-        throw new TaskException("Common ancestor not found between " + commitA + " and " + commitB);
-    }
-
-    private static List<RevCommit> walkTree(Repository repository, ObjectId start, int count) {
-        List<RevCommit> commits = new ArrayList<>();
-        try (RevWalk revWalk = new RevWalk(repository)) {
-            revWalk.markStart(revWalk.parseCommit(start));
-            for (RevCommit commit : revWalk) {
-                commits.add(commit);
-                if (commits.size() >= count) {
-                    break;
-                }
-            }
-        } catch (IOException e) {
-            throw new TaskException(
-                    "An error occurred while traversing the commit tree: " + e.getMessage(), e);
-        }
-        return commits;
-    }
-
-    private static AbstractTreeIterator prepareTreeParser(Repository repository, ObjectId objectId)
-            throws IOException {
-        try (RevWalk walk = new RevWalk(repository)) {
-            RevTree tree = walk.parseTree(walk.parseCommit(objectId).getTree().getId());
-
-            CanonicalTreeParser treeParser = new CanonicalTreeParser();
-            try (ObjectReader reader = repository.newObjectReader()) {
-                treeParser.reset(reader, tree.getId());
-            }
-            return treeParser;
-        }
-    }
-
-    private static Optional<DiffEntry> isFileChanged(
-            Repository repository, RevCommit commitA, RevCommit commitB, String filePath) {
-        try (Git git = new Git(repository)) {
-            AbstractTreeIterator oldTree = prepareTreeParser(repository, commitA);
-            AbstractTreeIterator newTree = prepareTreeParser(repository, commitB);
-            return git.diff().setOldTree(oldTree).setNewTree(newTree).call().stream()
-                    .filter(
-                            e ->
-                                    e.getChangeType() == DiffEntry.ChangeType.MODIFY
-                                            && e.getNewPath().equals(filePath))
-                    .findFirst();
-
-        } catch (GitAPIException | IOException e) {
-            throw new TaskException(
-                    "An error occurred while diffing the commits: " + e.getMessage(), e);
-        }
-    }
 }
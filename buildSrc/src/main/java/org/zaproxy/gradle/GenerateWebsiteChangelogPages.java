@@ -31,14 +31,10 @@ import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.zaproxy.gradle.ReleaseState.AddOnChange;
 import org.zaproxy.gradle.website.WebsiteChangelogPageGenerator;
-import org.zaproxy.zap.utils.ZapXmlConfiguration;
+import org.zaproxy.gradle.zapversions.ZapVersions;
 
 public abstract class GenerateWebsiteChangelogPages extends DefaultTask {
 
-    private static final String ADDON_ELEMENT_PREFIX = "addon_";
-    private static final String URL_ELEMENT = ".url";
-    private static final String NAME_ELEMENT = ".name";
-
     private static final String ZAP_EXTENSIONS_PREFIX =
             "https://github.com/zaproxy/zap-extensions/";
     private static final String GITHUB_PREFIX = "https://github.com/";
@@ -64,7 +60,7 @@ public abstract class GenerateWebsiteChangelogPages extends DefaultTask {
         }
 
         Path outputDir = getOutputDir().getAsFile().get().toPath();
-        var zapVersions = new ZapXmlConfiguration(getZapVersions().getAsFile().get());
+        var zapVersions = TaskUtils.readZapVersions(this, getZapVersions());
 
         for (AddOnChange addOn : addOns) {
             if (!addOn.isNewVersion()) {
@@ -72,8 +68,10 @@ public abstract class GenerateWebsiteChangelogPages extends DefaultTask {
             }
             String addOnId = addOn.getId();
             Path changelogPath = getTemporaryDir().toPath().resolve(addOnId + "-CHANGELOG.md");
+            ZapVersions.AddOn addOnData;
             try {
-                String url = getString(zapVersions, addOnId, URL_ELEMENT);
+                addOnData = zapVersions.requireAddOn(addOnId);
+                String url = addOnData.url();
                 String tag = extractTagFromUrl(url);
                 String changelogUrl = buildChangelogUrl(addOnId, url, tag);
 
@@ -84,7 +82,7 @@ public abstract class GenerateWebsiteChangelogPages extends DefaultTask {
                 continue;
             }
 
-            String addOnName = getString(zapVersions, addOnId, NAME_ELEMENT);
+            String addOnName = addOnData.name();
             Path addOnDir = outputDir.resolve(Path.of("docs", "addons", addOnId));
             Files.createDirectories(addOnDir);
 
@@ -143,9 +141,4 @@ public abstract class GenerateWebsiteChangelogPages extends DefaultTask {
         }
         return url.substring(start, end);
     }
-
-    private static String getString(
-            ZapXmlConfiguration zapVersions, String addOnId, String element) {
-        return zapVersions.getString(ADDON_ELEMENT_PREFIX + addOnId + element);
-    }
 }
@@ -29,14 +29,10 @@ import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.zaproxy.gradle.website.WebsiteSbomPageGenerator;
-import org.zaproxy.zap.utils.ZapXmlConfiguration;
+import org.zaproxy.gradle.zapversions.ZapVersions;
 
 public abstract class GenerateWebsiteSbomPages extends DefaultTask {
 
-    private static final String ADDON_ELEMENT_PREFIX = "addon_";
-    private static final String URL_ELEMENT = ".url";
-    private static final String NAME_ELEMENT = ".name";
-
     @InputFile
     public abstract RegularFileProperty getReleaseState();
 
@@ -55,15 +51,15 @@ public abstract class GenerateWebsiteSbomPages extends DefaultTask {
         }
 
         Path outputDir = getOutputDir().getAsFile().get().toPath();
-        ZapXmlConfiguration zapVersions =
-                new ZapXmlConfiguration(getZapVersions().getAsFile().get());
+        ZapVersions zapVersions = TaskUtils.readZapVersions(this, getZapVersions());
 
         for (ReleaseState.AddOnChange addOn : addOns) {
             if (!addOn.isNewVersion()) {
                 continue;
             }
             String addOnId = addOn.getId();
-            String url = getString(zapVersions, addOnId, URL_ELEMENT);
+            ZapVersions.AddOn addOnData = zapVersions.requireAddOn(addOnId);
+            String url = addOnData.url();
             if (!url.startsWith("https://github.com/zaproxy/zap-extensions")) {
                 continue;
             }
@@ -77,7 +73,7 @@ public abstract class GenerateWebsiteSbomPages extends DefaultTask {
                 continue;
             }
 
-            String addOnName = getString(zapVersions, addOnId, NAME_ELEMENT);
+            String addOnName = addOnData.name();
             Path addOnDir = outputDir.resolve(Path.of("docs", "addons", addOnId));
             Files.createDirectories(addOnDir);
 
@@ -90,9 +86,4 @@ public abstract class GenerateWebsiteSbomPages extends DefaultTask {
                     addOnDir.resolve("sbom.md"));
         }
     }
-
-    private static String getString(
-            ZapXmlConfiguration zapVersions, String addOnId, String element) {
-        return zapVersions.getString(ADDON_ELEMENT_PREFIX + addOnId + element);
-    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.zapversions.ZapVersionsDelta;
+import org.zaproxy.gradle.zapversions.ZapVersionsElement;
+import org.zaproxy.gradle.zapversions.ZapVersionsXmlWriter;
+
+/**
+ * A task that generates the deltas between the older revisions of the {@code ZapVersions.xml} files
+ * and the revisions in the last commit.
+ *
+ * <p>The deltas of each file are generated into a directory with the name of the file (e.g. {@code
+ * ZapVersions-2.17/}), one per base revision, named with its SHA-256 (e.g. {@code <sha256>.xml}),
+ * along with an index ({@code index.xml}) of the base revisions available. The output directory is
+ * published along with the {@code ZapVersions.xml} files.
+ *
+ * @see ZapVersionsDelta
+ */
+public abstract class GenerateZapVersionsDeltas extends DefaultTask {
+
+    private static final String INDEX_FILE = "index.xml";
+    private static final String XML_EXTENSION = ".xml";
+    private static final String GIT_DIR = ".git";
+
+    private static final String INDEX_ROOT_ELEMENT = "ZAP";
+    private static final String INDEX_CURRENT_ELEMENT = "current";
+    private static final String INDEX_BASE_ELEMENT = "base";
+
+    public GenerateZapVersionsDeltas() {
+        setGroup("ZAP");
+        setDescription("Generates the deltas between the old and current ZapVersions files.");
+
+        getGitDir().value(getProject().getLayout().getProjectDirectory().dir(GIT_DIR));
+        getMaxBaseRevisions().convention(10);
+    }
+
+    @InputDirectory
+    public abstract DirectoryProperty getGitDir();
+
+    @Input
+    public abstract ListProperty<String> getZapVersionsPaths();
+
+    @Input
+    public abstract Property<Integer> getMaxBaseRevisions();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    void generate() throws IOException {
+        File gitDir = getGitDir().get().getAsFile();
+        Path outputDir = getOutputDir().getAsFile().get().toPath();
+        int maxBaseRevisions = getMaxBaseRevisions().get();
+        FileUpdater fileUpdater = new FileUpdater();
+
+        for (String path : getZapVersionsPaths().get()) {
+            GitFileRevisions revisions = GitFileRevisions.read(gitDir, path, maxBaseRevisions);
+            String name = Path.of(path).getFileName().toString();
+            Path deltasDir =
+                    outputDir.resolve(name.substring(0, name.length() - XML_EXTENSION.length()));
+            Files.createDirectories(deltasDir);
+
+            ZapVersionsElement index = new ZapVersionsElement(INDEX_ROOT_ELEMENT);
+            index.addChild(
+                    new ZapVersionsElement(
+                            INDEX_CURRENT_ELEMENT,
+                            ZapVersionsDelta.revision(revisions.getCurrent())));
+
+            Set<String> files = new HashSet<>();
+            files.add(INDEX_FILE);
+            for (byte[] base : revisions.getBaseRevisions()) {
+                ZapVersionsDelta delta = createDelta(path, base, revisions.getCurrent());
+                String fileName = delta.getFrom() + XML_EXTENSION;
+                byte[] contents = serialize(delta);
+                fileUpdater.write(deltasDir.resolve(fileName), contents);
+                files.add(fileName);
+
+                ZapVersionsElement entry = new ZapVersionsElement(INDEX_BASE_ELEMENT);
+                entry.setValue("revision", delta.getFrom());
+                entry.setValue("file", fileName);
+                entry.setValue("size", String.valueOf(contents.length));
+                index.addChild(entry);
+            }
+
+            fileUpdater.write(deltasDir.resolve(INDEX_FILE), serialize(index));
+            deleteStaleDeltas(deltasDir, files);
+            getLogger()
+                    .info("Generated {} deltas for {}", revisions.getBaseRevisions().size(), path);
+        }
+        getLogger().info("ZapVersions deltas: {}", fileUpdater);
+    }
+
+    private static ZapVersionsDelta createDelta(String path, byte[] base, byte[] current)
+            throws IOException {
+        try {
+            return ZapVersionsDelta.create(base, current);
+        } catch (IOException e) {
+            throw new IOException(
+                    "Failed to create the delta for " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] serialize(ZapVersionsDelta delta) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        delta.write(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] serialize(ZapVersionsElement index) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ZapVersionsXmlWriter writer = new ZapVersionsXmlWriter(out);
+        writer.writeDeclaration();
+        writer.writeElement(index, 0);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private static void deleteStaleDeltas(Path deltasDir, Set<String> files) throws IOException {
+        try (Stream<Path> stream = Files.list(deltasDir)) {
+            for (Path file : stream.toList()) {
+                if (!files.contains(file.getFileName().toString())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
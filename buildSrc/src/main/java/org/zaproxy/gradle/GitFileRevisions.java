@@ -0,0 +1,306 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+
+/**
+ * The revisions of a file in the last commit of a Git repository.
+ *
+ * <p>The previous revision is the one before the last commit, or, for merge commits, the one in the
+ * common ancestor of the merged commits. It's the same as the current revision if the file was not
+ * changed by the last commit.
+ */
+class GitFileRevisions {
+
+    private static final String HEAD_REF = "HEAD";
+
+    private final byte[] current;
+    private final byte[] previous;
+    private final List<byte[]> baseRevisions;
+
+    private GitFileRevisions(byte[] current, byte[] previous, List<byte[]> baseRevisions) {
+        this.current = current;
+        this.previous = previous;
+        this.baseRevisions = baseRevisions;
+    }
+
+    /**
+     * Gets the contents of the file in the last commit.
+     *
+     * @return the contents of the file.
+     */
+    byte[] getCurrent() {
+        return current;
+    }
+
+    /**
+     * Gets the contents of the file before the last commit.
+     *
+     * @return the contents of the file, the same as the current if not changed.
+     */
+    byte[] getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Tells whether or not the file was changed by the last commit.
+     *
+     * @return {@code true} if the file was changed, {@code false} otherwise.
+     */
+    boolean isChanged() {
+        return previous != current;
+    }
+
+    /**
+     * Gets the older revisions of the file, different from the current one, newest first.
+     *
+     * <p>The first one is the {@link #getPrevious() previous} revision, if changed by the last
+     * commit.
+     *
+     * @return the older revisions, never {@code null}.
+     */
+    List<byte[]> getBaseRevisions() {
+        return baseRevisions;
+    }
+
+    /**
+     * Reads the revisions of the given file.
+     *
+     * @param gitDir the Git directory.
+     * @param path the path to the file, relative to the root of the repository.
+     * @param maxBaseRevisions the maximum number of older revisions to read, {@code 0} to read just
+     *     the previous one.
+     * @return the revisions of the file.
+     * @throws TaskException if an error occurred while reading the repository or if the file does
+     *     not exist in the last commit.
+     */
+    static GitFileRevisions read(File gitDir, String path, int maxBaseRevisions) {
+        try (Repository repository = createRepository(gitDir);
+                RevWalk walk = new RevWalk(repository)) {
+            RevCommit headCommit = walk.parseCommit(getHead(repository).getObjectId());
+
+            walk.markStart(headCommit);
+            ObjectId currentId = null;
+            Iterator<RevCommit> it = walk.iterator();
+            if (it.hasNext()) {
+                currentId = getFileId(repository, walk, it.next(), path);
+            }
+            if (currentId == null) {
+                throw new TaskException("File not found in the current commit: " + path);
+            }
+
+            RevCommit parent;
+            if (isMergeCommit(headCommit)) {
+                parent =
+                        getCommonAncestor(
+                                repository,
+                                headCommit.getParent(0).getId(),
+                                headCommit.getParent(1).getId());
+            } else {
+                parent = headCommit.getParent(0);
+            }
+
+            byte[] current = readFile(repository, currentId);
+            byte[] previous = current;
+            List<byte[]> baseRevisions = new ArrayList<>();
+            Set<ObjectId> seen = new HashSet<>();
+            seen.add(currentId);
+            Optional<DiffEntry> diffResult = isFileChanged(repository, parent, headCommit, path);
+            if (diffResult.isPresent()) {
+                ObjectId previousId = diffResult.get().getOldId().toObjectId();
+                previous = readFile(repository, previousId);
+                if (seen.add(previousId)) {
+                    baseRevisions.add(previous);
+                }
+            }
+
+            if (maxBaseRevisions > baseRevisions.size()) {
+                readBaseRevisions(repository, parent, path, maxBaseRevisions, seen, baseRevisions);
+            }
+            return new GitFileRevisions(current, previous, baseRevisions);
+        } catch (IOException e) {
+            throw new TaskException(
+                    "An error occurred while using the Git repository: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readBaseRevisions(
+            Repository repository,
+            RevCommit start,
+            String path,
+            int max,
+            Set<ObjectId> seen,
+            List<byte[]> baseRevisions)
+            throws IOException {
+        try (Git git = new Git(repository);
+                RevWalk walk = new RevWalk(repository)) {
+            for (RevCommit commit : git.log().add(start).addPath(path).call()) {
+                ObjectId fileId = getFileId(repository, walk, commit, path);
+                if (fileId != null && seen.add(fileId)) {
+                    baseRevisions.add(readFile(repository, fileId));
+                    if (baseRevisions.size() >= max) {
+                        return;
+                    }
+                }
+            }
+        } catch (GitAPIException e) {
+            throw new TaskException(
+                    "Failed to read the history of " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectId getFileId(
+            Repository repository, RevWalk walk, RevCommit commit, String path) throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(walk.parseTree(commit.getTree().getId()));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(PathFilterGroup.createFromStrings(path));
+            if (treeWalk.next()) {
+                return treeWalk.getObjectId(0);
+            }
+        }
+        return null;
+    }
+
+    private static Repository createRepository(File gitDir) {
+        try {
+            return new FileRepositoryBuilder().setGitDir(gitDir).build();
+        } catch (IOException e) {
+            throw new TaskException("Failed to read the Git repository: " + e.getMessage(), e);
+        }
+    }
+
+    private static Ref getHead(Repository repository) {
+        Ref head;
+        try {
+            head = repository.findRef(HEAD_REF);
+        } catch (IOException e) {
+            throw new TaskException(
+                    String.format(
+                            "Failed to get the ref %s from the Git repository: %s",
+                            HEAD_REF, e.getMessage()),
+                    e);
+        }
+        if (head == null) {
+            throw new TaskException(
+                    String.format("No ref %s found in the Git repository.", HEAD_REF));
+        }
+        return head;
+    }
+
+    private static boolean isMergeCommit(RevCommit commit) {
+        return commit.getParentCount() > 1;
+    }
+
+    private static byte[] readFile(Repository repository, ObjectId objectId) {
+        try {
+            return repository.open(objectId).getBytes();
+        } catch (IOException e) {
+            throw new TaskException(
+                    "Failed to read the file from the Git repository: " + e.getMessage(), e);
+        }
+    }
+
+    private static RevCommit getCommonAncestor(
+            Repository repository, ObjectId commitA, ObjectId commitB) {
+        List<RevCommit> treeA = walkTree(repository, commitA, 50);
+        List<RevCommit> treeB = walkTree(repository, commitB, 50);
+
+        Set<RevCommit> common = new HashSet<>(treeA);
+        for (RevCommit commit : treeB) {
+            if (!common.add(commit)) {
+                return commit;
+            }
+        }
+
+        throw new TaskException("Common ancestor not found between " + commitA + " and " + commitB);
+    }
+
+    private static List<RevCommit> walkTree(Repository repository, ObjectId start, int count) {
+        List<RevCommit> commits = new ArrayList<>();
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            revWalk.markStart(revWalk.parseCommit(start));
+            for (RevCommit commit : revWalk) {
+                commits.add(commit);
+                if (commits.size() >= count) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new TaskException(
+                    "An error occurred while traversing the commit tree: " + e.getMessage(), e);
+        }
+        return commits;
+    }
+
+    private static AbstractTreeIterator prepareTreeParser(Repository repository, ObjectId objectId)
+            throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            RevTree tree = walk.parseTree(walk.parseCommit(objectId).getTree().getId());
+
+            CanonicalTreeParser treeParser = new CanonicalTreeParser();
+            try (ObjectReader reader = repository.newObjectReader()) {
+                treeParser.reset(reader, tree.getId());
+            }
+            return treeParser;
+        }
+    }
+
+    private static Optional<DiffEntry> isFileChanged(
+            Repository repository, RevCommit commitA, RevCommit commitB, String filePath) {
+        try (Git git = new Git(repository)) {
+            AbstractTreeIterator oldTree = prepareTreeParser(repository, commitA);
+            AbstractTreeIterator newTree = prepareTreeParser(repository, commitB);
+            return git.diff().setOldTree(oldTree).setNewTree(newTree).call().stream()
+                    .filter(
+                            e ->
+                                    e.getChangeType() == DiffEntry.ChangeType.MODIFY
+                                            && e.getNewPath().equals(filePath))
+                    .findFirst();
+
+        } catch (GitAPIException | IOException e) {
+            throw new TaskException(
+                    "An error occurred while diffing the commits: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.time.Duration;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A build service that shares the {@link SharedHttpClient} between all the tasks of the build.
+ *
+ * <p>The timeouts and the maximum number of concurrent requests per host are parameters of the
+ * service, those not set use the defaults of the client.
+ */
+public abstract class HttpClientService implements BuildService<HttpClientService.Params> {
+
+    /** The name of the service, to configure it before it's used by the tasks. */
+    public static final String NAME = "zapHttpClient";
+
+    private final SharedHttpClient client;
+
+    public HttpClientService() {
+        Params params = getParameters();
+        client =
+                new SharedHttpClient(
+                        params.getConnectTimeout()
+                                .getOrElse(SharedHttpClient.DEFAULT_CONNECT_TIMEOUT),
+                        params.getResponseTimeout()
+                                .getOrElse(SharedHttpClient.DEFAULT_RESPONSE_TIMEOUT),
+                        params.getMaxRequestsPerHost()
+                                .getOrElse(SharedHttpClient.DEFAULT_MAX_REQUESTS_PER_HOST));
+    }
+
+    SharedHttpClient getClient() {
+        return client;
+    }
+
+    public interface Params extends BuildServiceParameters {
+
+        Property<Duration> getConnectTimeout();
+
+        Property<Duration> getResponseTimeout();
+
+        Property<Integer> getMaxRequestsPerHost();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.util.List;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.zaproxy.gradle.zapversions.AddOnDependencyGraph;
+
+/**
+ * A task that lists the add-ons that depend, directly or transitively, on an add-on, in the order
+ * they should be released again after the add-on changes.
+ *
+ * <p>If no add-on is specified the release order of all the add-ons is listed. The dependency
+ * cycles, if any, are always reported.
+ *
+ * @see AddOnDependencyGraph
+ */
+public abstract class ListAddOnDependents extends DefaultTask {
+
+    public ListAddOnDependents() {
+        setDescription("Lists the add-ons that depend on an add-on, in release order.");
+    }
+
+    @InputFile
+    public abstract RegularFileProperty getZapVersions();
+
+    @Option(option = "addOn", description = "The ID of the add-on, for example, commonlib.")
+    public void setAddOnId(String id) {
+        getAddOnId().set(id);
+    }
+
+    @Input
+    @Optional
+    public abstract Property<String> getAddOnId();
+
+    @TaskAction
+    public void list() throws IOException {
+        AddOnDependencyGraph graph =
+                AddOnDependencyGraph.from(TaskUtils.readZapVersions(this, getZapVersions()));
+
+        for (List<String> cycle : graph.getCycles()) {
+            getLogger().warn("Dependency cycle between the add-ons: {}", String.join(", ", cycle));
+        }
+
+        if (!getAddOnId().isPresent()) {
+            if (graph.hasCycles()) {
+                throw new TaskException(
+                        "Unable to order the add-ons, there are dependency cycles.");
+            }
+            getLogger().lifecycle("Release order of the add-ons:");
+            graph.getReleaseOrder().forEach(id -> getLogger().lifecycle(" - {}", id));
+            return;
+        }
+
+        String addOnId = getAddOnId().get();
+        if (!graph.contains(addOnId)) {
+            throw new TaskException(
+                    "The add-on "
+                            + addOnId
+                            + " does not exist in "
+                            + getZapVersions().getAsFile().get());
+        }
+
+        List<String> dependents = graph.getAllDependents(addOnId);
+        if (dependents.isEmpty()) {
+            getLogger().lifecycle("No add-ons depend on {}.", addOnId);
+            return;
+        }
+        getLogger().lifecycle("Add-ons that depend on {}, in release order:", addOnId);
+        dependents.forEach(id -> getLogger().lifecycle(" - {}", id));
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A pipeline of stages, each with its own workers, connected by bounded queues.
+ *
+ * <p>The items are processed by the stages as soon as the previous stage is done with them, so the
+ * stages overlap, and a slow stage holds back the previous ones once the queue between them is
+ * full. The order of the results is not defined. If a stage fails all the workers are interrupted
+ * and the failure is thrown.
+ *
+ * <p>Each stage keeps track of the items in flight and of the time taken to process them, for
+ * example, to log them once the pipeline is done. Instances are immutable, the stages are shared
+ * by the pipelines created from them.
+ *
+ * @param <I> the type of the input items.
+ * @param <O> the type of the output items.
+ */
+final class Pipeline<I, O> {
+
+    private static final Object END = new Object();
+
+    private final int queueCapacity;
+    private final List<Stage> stages;
+
+    private Pipeline(int queueCapacity, List<Stage> stages) {
+        this.queueCapacity = queueCapacity;
+        this.stages = stages;
+    }
+
+    /**
+     * Creates a pipeline without stages.
+     *
+     * @param <T> the type of the input items.
+     * @param queueCapacity the capacity of the queues between the stages.
+     * @return the pipeline.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    static <T> Pipeline<T, T> create(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("The queue capacity must be positive.");
+        }
+        return new Pipeline<>(queueCapacity, List.of());
+    }
+
+    /**
+     * Creates a pipeline with the stages of this one followed by the given stage.
+     *
+     * @param <R> the type of the items produced by the new stage.
+     * @param name the name of the stage.
+     * @param workers the number of workers of the stage.
+     * @param step the step applied to each item.
+     * @return the new pipeline.
+     * @throws IllegalArgumentException if the number of workers is not positive.
+     */
+    <R> Pipeline<I, R> then(String name, int workers, Step<? super O, ? extends R> step) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The number of workers must be positive.");
+        }
+        List<Stage> newStages = new ArrayList<>(stages);
+        newStages.add(new Stage(name, workers, step));
+        return new Pipeline<>(queueCapacity, List.copyOf(newStages));
+    }
+
+    List<Stage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Runs the given items through the stages.
+     *
+     * @param inputs the items to process.
+     * @return the results of the last stage, in no particular order.
+     * @throws Exception the first failure of any of the stages.
+     */
+    @SuppressWarnings("unchecked")
+    List<O> run(Collection<? extends I> inputs) throws Exception {
+        if (stages.isEmpty()) {
+            return new ArrayList<>((Collection<? extends O>) inputs);
+        }
+
+        BlockingQueue<Object> source = new ArrayBlockingQueue<>(inputs.size() + 1);
+        source.addAll(inputs);
+        source.add(END);
+
+        List<O> results = new ArrayList<>(inputs.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(stages.stream().mapToInt(s -> s.workers).sum());
+        try {
+            BlockingQueue<Object> in = source;
+            for (int i = 0; i < stages.size(); i++) {
+                Stage stage = stages.get(i);
+                BlockingQueue<Object> out =
+                        i == stages.size() - 1 ? null : new ArrayBlockingQueue<>(queueCapacity);
+                AtomicInteger activeWorkers = new AtomicInteger(stage.workers);
+                for (int j = 0; j < stage.workers; j++) {
+                    BlockingQueue<Object> stageIn = in;
+                    executor.execute(
+                            () -> {
+                                try {
+                                    stage.work(stageIn, out, activeWorkers, results);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                } catch (Throwable e) {
+                                    if (failure.compareAndSet(null, e)) {
+                                        executor.shutdownNow();
+                                    }
+                                }
+                            });
+                }
+                in = out;
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw (Exception) cause;
+        }
+        return results;
+    }
+
+    /**
+     * A step of a stage.
+     *
+     * @param <T> the type of the items consumed.
+     * @param <R> the type of the items produced.
+     */
+    @FunctionalInterface
+    interface Step<T, R> {
+
+        /**
+         * Processes the given item.
+         *
+         * @param item the item to process.
+         * @return the processed item.
+         * @throws Exception if an error occurred while processing the item.
+         */
+        R apply(T item) throws Exception;
+    }
+
+    /** A stage of the pipeline, with the counters of the items processed. */
+    static final class Stage {
+
+        private final String name;
+        private final int workers;
+        private final Step<Object, Object> step;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        private Stage(String name, int workers, Step<?, ?> step) {
+            this.name = name;
+            this.workers = workers;
+            this.step = (Step<Object, Object>) step;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of items being processed by the stage.
+         *
+         * @return the number of items in flight.
+         */
+        int getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * Gets the number of items processed successfully by the stage.
+         *
+         * @return the number of items completed.
+         */
+        int getCompleted() {
+            return completed.get();
+        }
+
+        Duration getAverageLatency() {
+            int count = getCompleted();
+            return Duration.ofNanos(count == 0 ? 0 : totalNanos.get() / count);
+        }
+
+        Duration getMaxLatency() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        @SuppressWarnings("unchecked")
+        private <O> void work(
+                BlockingQueue<Object> in,
+                BlockingQueue<Object> out,
+                AtomicInteger activeWorkers,
+                List<O> results)
+                throws Exception {
+            for (Object item; (item = in.take()) != END; ) {
+                inFlight.incrementAndGet();
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = step.apply(item);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                long nanos = System.nanoTime() - start;
+                totalNanos.addAndGet(nanos);
+                maxNanos.accumulateAndGet(nanos, Math::max);
+                completed.incrementAndGet();
+
+                if (out != null) {
+                    out.put(result);
+                } else {
+                    synchronized (results) {
+                        results.add((O) result);
+                    }
+                }
+            }
+
+            // Let the other workers know, the last one lets the next stage know.
+            in.put(END);
+            if (activeWorkers.decrementAndGet() == 0 && out != null) {
+                out.put(END);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s: %d completed, %d in flight, %d ms average, %d ms max",
+                    name,
+                    getCompleted(),
+                    getInFlight(),
+                    getAverageLatency().toMillis(),
+                    getMaxLatency().toMillis());
+        }
+    }
+}
@@ -0,0 +1,654 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Downloads files with HTTP range requests, resuming and retrying on errors.
+ *
+ * <p>The file is first downloaded into a {@code .part} file, resumed if it already exists (e.g.
+ * from a previous failed download). Large files are downloaded in parallel chunks, each written at
+ * its position of the {@code .part} file, pre-sized to the length of the file. The chunks are
+ * hashed in order as they complete, those completed before the previous ones are kept in memory, up
+ * to twice the number of connections. The bytes downloaded of each chunk are saved in a {@code
+ * .progress} file, next to the {@code .part} file, to resume the chunks, only the resumed bytes are
+ * read back from the {@code .part} file to hash them. The file is moved to its final location only
+ * after its size and checksum are verified, so a partially downloaded file is never taken for a
+ * complete one.
+ *
+ * <p>The validator of the remote file, its strong {@code ETag} or else its {@code Last-Modified},
+ * is stored next to the {@code .part} file and sent in the {@code If-Range} header of the range
+ * requests, a partially downloaded file is resumed only if the remote file did not change.
+ *
+ * <p>The requests are sent through the given {@link SharedHttpClient}, those that fail with
+ * transient errors are retried with exponential backoff. The chunks are requested with HTTP/1.1, to
+ * download them through different connections, with HTTP/2 they would share the same one.
+ */
+final class RangedDownloader {
+
+    static final int DEFAULT_CONNECTIONS = 4;
+    static final long DEFAULT_CHUNK_SIZE = 16L * 1024 * 1024;
+    static final int DEFAULT_MAX_ATTEMPTS = 5;
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Logger LOGGER = Logging.getLogger(RangedDownloader.class);
+
+    private static final String PART_EXTENSION = ".part";
+    private static final String VALIDATOR_EXTENSION = ".validator";
+    private static final String PROGRESS_EXTENSION = ".progress";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String RANGE_HEADER = "Range";
+    private static final String IF_RANGE_HEADER = "If-Range";
+    private static final Pattern CONTENT_RANGE_LENGTH = Pattern.compile("bytes \\d+-\\d+/(\\d+)");
+
+    private final SharedHttpClient client;
+    private final int connections;
+    private final long chunkSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    RangedDownloader(SharedHttpClient client) {
+        this(
+                client,
+                DEFAULT_CONNECTIONS,
+                DEFAULT_CHUNK_SIZE,
+                DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF);
+    }
+
+    /**
+     * Constructs a {@code RangedDownloader} with the given configuration.
+     *
+     * @param client the client to send the requests.
+     * @param connections the maximum number of connections used to download a file.
+     * @param chunkSize the size of the chunks, files up to this size are not split.
+     * @param maxAttempts the maximum number of attempts of each request.
+     * @param initialBackoff the time to wait before the first retry, doubled on each retry.
+     */
+    RangedDownloader(
+            SharedHttpClient client,
+            int connections,
+            long chunkSize,
+            int maxAttempts,
+            Duration initialBackoff) {
+        this.client = client;
+        this.connections = connections;
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Downloads the file from the given URI.
+     *
+     * @param uri the URI of the file.
+     * @param file where to save the file, must not exist.
+     * @param checksumAlgorithm the checksum algorithm.
+     * @param expectedChecksum the expected checksum, {@code null} or empty to not verify.
+     * @return the downloaded file, with its size and checksum.
+     * @throws IOException if an error occurred while downloading the file or if it does not have
+     *     the expected size.
+     * @throws IllegalArgumentException if the file does not have the expected checksum.
+     */
+    ChecksummedFile download(URI uri, Path file, String checksumAlgorithm, String expectedChecksum)
+            throws IOException {
+        Path partFile = file.resolveSibling(file.getFileName() + PART_EXTENSION);
+        Path validatorFile = partFile.resolveSibling(partFile.getFileName() + VALIDATOR_EXTENSION);
+        Path progressFile = partFile.resolveSibling(partFile.getFileName() + PROGRESS_EXTENSION);
+        RemoteFile remoteFile = retry(uri, () -> probe(uri));
+        boolean chunked = remoteFile.acceptsRanges() && remoteFile.length() > chunkSize;
+
+        if (Files.exists(partFile) && !isSameValidator(validatorFile, remoteFile.validator())) {
+            LOGGER.info("Discarding {}, the remote file changed.", partFile.getFileName());
+            Files.delete(partFile);
+        }
+        if (!chunked && Files.deleteIfExists(progressFile)) {
+            // Pre-sized for chunks, its size is not the bytes downloaded.
+            Files.deleteIfExists(partFile);
+        }
+        if (remoteFile.validator() != null) {
+            Files.writeString(validatorFile, remoteFile.validator());
+        } else {
+            Files.deleteIfExists(validatorFile);
+        }
+
+        ChecksummedFile part;
+        if (chunked) {
+            part = downloadChunks(uri, partFile, progressFile, remoteFile, checksumAlgorithm);
+        } else {
+            MessageDigest digest = DigestUtils.getDigest(checksumAlgorithm);
+            retry(uri, () -> downloadRange(uri, partFile, remoteFile, digest));
+            part =
+                    new ChecksummedFile(
+                            partFile,
+                            Files.size(partFile),
+                            checksumAlgorithm,
+                            Hex.encodeHexString(digest.digest()));
+        }
+
+        try {
+            if (remoteFile.length() != -1 && part.size() != remoteFile.length()) {
+                throw new IOException(
+                        String.format(
+                                "Downloaded size %d does not match the expected %d for: %s",
+                                part.size(), remoteFile.length(), uri));
+            }
+            part.verifyChecksum(expectedChecksum);
+        } catch (IOException | IllegalArgumentException e) {
+            Files.deleteIfExists(partFile);
+            Files.deleteIfExists(validatorFile);
+            Files.deleteIfExists(progressFile);
+            throw e;
+        }
+
+        move(partFile, file);
+        Files.deleteIfExists(validatorFile);
+        Files.deleteIfExists(progressFile);
+        return new ChecksummedFile(file, part.size(), checksumAlgorithm, part.checksum());
+    }
+
+    private static boolean isSameValidator(Path validatorFile, String validator)
+            throws IOException {
+        return validator != null
+                && Files.exists(validatorFile)
+                && validator.equals(Files.readString(validatorFile));
+    }
+
+    private ChecksummedFile downloadChunks(
+            URI uri,
+            Path partFile,
+            Path progressFile,
+            RemoteFile remoteFile,
+            String checksumAlgorithm)
+            throws IOException {
+        long length = remoteFile.length();
+        int count = (int) ((length + chunkSize - 1) / chunkSize);
+        long[] progress = readProgress(progressFile, length);
+        AtomicLongArray written;
+        if (progress != null && Files.exists(partFile) && Files.size(partFile) == length) {
+            written = new AtomicLongArray(progress);
+            LOGGER.info(
+                    "Resuming download of {} from {} bytes.",
+                    partFile.getFileName(),
+                    Arrays.stream(progress).sum());
+        } else {
+            written = new AtomicLongArray(count);
+            Files.deleteIfExists(partFile);
+            try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+                file.setLength(length);
+            }
+        }
+
+        MessageDigest digest = DigestUtils.getDigest(checksumAlgorithm);
+        Semaphore pendingChunks = new Semaphore(2 * connections, true);
+        OrderedDigest orderedDigest = new OrderedDigest(digest, partFile, pendingChunks);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(connections, count));
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.WRITE)) {
+            CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+            List<Future<Void>> downloads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long start = i * chunkSize;
+                long end = Math.min(length, start + chunkSize);
+                downloads.add(
+                        completionService.submit(
+                                () -> {
+                                    pendingChunks.acquire();
+                                    long resumed = start + written.get(index);
+                                    byte[] data = new byte[(int) (end - resumed)];
+                                    retry(
+                                            uri,
+                                            () ->
+                                                    downloadChunk(
+                                                            uri,
+                                                            channel,
+                                                            remoteFile,
+                                                            start,
+                                                            end,
+                                                            written,
+                                                            index,
+                                                            data,
+                                                            resumed));
+                                    orderedDigest.add(index, start, resumed, data);
+                                    return null;
+                                }));
+            }
+
+            for (int i = 0; i < count; i++) {
+                try {
+                    completionService.take().get();
+                    writeProgress(progressFile, written);
+                } catch (ExecutionException e) {
+                    downloads.forEach(download -> download.cancel(true));
+                    if (e.getCause() instanceof IOException ioException) {
+                        throw ioException;
+                    }
+                    throw new IOException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading " + uri);
+        } finally {
+            executor.shutdownNow();
+            writeProgress(progressFile, written);
+        }
+
+        return new ChecksummedFile(
+                partFile, length, checksumAlgorithm, Hex.encodeHexString(digest.digest()));
+    }
+
+    /**
+     * Reads the bytes downloaded of each chunk, saved by a previous download with the same chunk
+     * size.
+     *
+     * @param progressFile the file with the progress.
+     * @param length the length of the file being downloaded.
+     * @return the bytes downloaded of each chunk, or {@code null} if not saved or not valid.
+     */
+    private long[] readProgress(Path progressFile, long length) throws IOException {
+        if (!Files.exists(progressFile)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(progressFile);
+        int count = (int) ((length + chunkSize - 1) / chunkSize);
+        if (lines.size() != count + 1 || !lines.get(0).equals(Long.toString(chunkSize))) {
+            return null;
+        }
+
+        long[] progress = new long[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                progress[i] = Long.parseLong(lines.get(i + 1));
+                long chunkLength = Math.min(length, (i + 1) * chunkSize) - i * chunkSize;
+                if (progress[i] < 0 || progress[i] > chunkLength) {
+                    return null;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return progress;
+    }
+
+    /**
+     * Saves the bytes downloaded of each chunk, preceded by the chunk size, one per line.
+     *
+     * @param progressFile the file to write.
+     * @param written the bytes downloaded of each chunk.
+     */
+    private void writeProgress(Path progressFile, AtomicLongArray written) throws IOException {
+        StringBuilder contents = new StringBuilder().append(chunkSize).append('\n');
+        for (int i = 0; i < written.length(); i++) {
+            contents.append(written.get(i)).append('\n');
+        }
+        new FileUpdater().write(progressFile, contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Downloads the given chunk into its position of the file, resuming from the bytes already
+     * written by previous attempts.
+     *
+     * @param uri the URI of the file.
+     * @param channel the channel of the file, shared by all the chunks.
+     * @param remoteFile the remote file.
+     * @param start the start of the chunk, inclusive.
+     * @param end the end of the chunk, exclusive.
+     * @param written the bytes written of each chunk.
+     * @param index the index of the chunk.
+     * @param data where to also keep the bytes of the chunk, to hash them.
+     * @param dataStart the position of the file of the first byte of the data.
+     */
+    private Void downloadChunk(
+            URI uri,
+            FileChannel channel,
+            RemoteFile remoteFile,
+            long start,
+            long end,
+            AtomicLongArray written,
+            int index,
+            byte[] data,
+            long dataStart)
+            throws IOException {
+        long position = start + written.get(index);
+        if (position == end) {
+            return null;
+        }
+
+        HttpResponse<InputStream> response =
+                client.get(
+                        uri,
+                        HttpClient.Version.HTTP_1_1,
+                        rangeHeaders(remoteFile, position, "" + (end - 1)));
+        try (InputStream in = response.body()) {
+            int status = response.statusCode();
+            if (status == HttpURLConnection.HTTP_OK) {
+                throw new UnexpectedStatusException(
+                        uri, status, "The remote file changed or does not accept ranges");
+            }
+            if (status != HttpURLConnection.HTTP_PARTIAL) {
+                throw new UnexpectedStatusException(uri, status);
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Interrupted while downloading " + uri);
+                }
+                if (position + read > end) {
+                    throw new IOException("The server returned more than requested: " + uri);
+                }
+                System.arraycopy(buffer, 0, data, (int) (position - dataStart), read);
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                while (bytes.hasRemaining()) {
+                    position += channel.write(bytes, position);
+                }
+                written.addAndGet(index, read);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Downloads the file, resuming from the current size of the part file.
+     *
+     * <p>If the file does not accept ranges, or it changed since the part file was started, it's
+     * downloaded from the start.
+     *
+     * @param uri the URI of the file.
+     * @param file the part file to write.
+     * @param remoteFile the remote file.
+     * @param digest the digest to update with the contents of the file.
+     */
+    private Void downloadRange(
+            URI uri, Path file, RemoteFile remoteFile, MessageDigest digest) throws IOException {
+        long end = remoteFile.length();
+        long offset = Files.exists(file) ? Files.size(file) : 0;
+        if (!remoteFile.acceptsRanges() || (end != -1 && offset > end)) {
+            offset = 0;
+        }
+
+        digest.reset();
+        if (offset != 0) {
+            truncate(file, offset);
+            update(digest, file);
+            LOGGER.info("Resuming download of {} from {} bytes.", file.getFileName(), offset);
+        }
+        if (offset == end) {
+            return null;
+        }
+
+        String[] headers = {};
+        if (remoteFile.acceptsRanges()) {
+            headers = rangeHeaders(remoteFile, offset, end != -1 ? "" + (end - 1) : "");
+        }
+
+        HttpResponse<InputStream> response = client.get(uri, headers);
+        try (InputStream in = response.body()) {
+            int status = response.statusCode();
+            if (status == HttpURLConnection.HTTP_OK && offset != 0) {
+                offset = 0;
+                digest.reset();
+            } else if (status != HttpURLConnection.HTTP_PARTIAL
+                    && status != HttpURLConnection.HTTP_OK) {
+                throw new UnexpectedStatusException(uri, status);
+            }
+
+            try (OutputStream out =
+                    offset != 0
+                            ? Files.newOutputStream(file, StandardOpenOption.APPEND)
+                            : Files.newOutputStream(file)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Interrupted while writing " + file);
+                    }
+                    out.write(buffer, 0, read);
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String[] rangeHeaders(RemoteFile remoteFile, long start, String end) {
+        String range = "bytes=" + start + "-" + end;
+        if (remoteFile.validator() == null) {
+            return new String[] {RANGE_HEADER, range};
+        }
+        return new String[] {RANGE_HEADER, range, IF_RANGE_HEADER, remoteFile.validator()};
+    }
+
+    private RemoteFile probe(URI uri) throws IOException {
+        HttpResponse<InputStream> response = client.get(uri, RANGE_HEADER, "bytes=0-0");
+        try (InputStream body = response.body()) {
+            int status = response.statusCode();
+            if (status == HttpURLConnection.HTTP_PARTIAL) {
+                Matcher matcher =
+                        CONTENT_RANGE_LENGTH.matcher(
+                                response.headers().firstValue("Content-Range").orElse(""));
+                if (matcher.matches()) {
+                    return new RemoteFile(
+                            Long.parseLong(matcher.group(1)), true, getValidator(response));
+                }
+                return new RemoteFile(-1, false, null);
+            }
+            if (status == HttpURLConnection.HTTP_OK) {
+                return new RemoteFile(
+                        response.headers().firstValueAsLong("Content-Length").orElse(-1),
+                        false,
+                        null);
+            }
+            throw new UnexpectedStatusException(uri, status);
+        }
+    }
+
+    /**
+     * Gets the validator of the remote file, to use in the {@code If-Range} header. Weak ETags
+     * are not allowed in that header.
+     */
+    private static String getValidator(HttpResponse<?> response) {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return response.headers().firstValue("Last-Modified").orElse(null);
+    }
+
+    private <T> T retry(URI uri, Request<T> request) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return request.execute();
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()
+                        || attempt >= maxAttempts
+                        || (e instanceof UnexpectedStatusException statusException
+                                && !statusException.isTransient())) {
+                    throw e;
+                }
+
+                Duration backoff = initialBackoff.multipliedBy(1L << (attempt - 1));
+                LOGGER.warn(
+                        "Attempt {} of {} to download {} failed, retrying in {} ms: {}",
+                        attempt,
+                        maxAttempts,
+                        uri,
+                        backoff.toMillis(),
+                        e.getMessage());
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while downloading " + uri);
+                }
+            }
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, Path file, long start, long end)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (long position = start; position < end; ) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, end - position));
+                int read = channel.read(buffer, position);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of file: " + file);
+                }
+                digest.update(buffer.flip());
+                position += read;
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * Updates a digest with the chunks of a file in order, as they complete.
+     *
+     * <p>The chunks completed before the previous ones are kept until those complete, each holds a
+     * permit of the given semaphore, released once hashed.
+     */
+    private static final class OrderedDigest {
+
+        private final MessageDigest digest;
+        private final Path file;
+        private final Semaphore permits;
+        private final Map<Integer, Chunk> completed;
+        private int next;
+
+        OrderedDigest(MessageDigest digest, Path file, Semaphore permits) {
+            this.digest = digest;
+            this.file = file;
+            this.permits = permits;
+            this.completed = new HashMap<>();
+        }
+
+        /**
+         * Adds the given completed chunk, hashing it and the ones after it if all the previous
+         * ones were already hashed.
+         *
+         * @param index the index of the chunk.
+         * @param start the start of the chunk.
+         * @param dataStart the start of the data, the bytes before were resumed from the file.
+         * @param data the bytes downloaded of the chunk.
+         */
+        synchronized void add(int index, long start, long dataStart, byte[] data)
+                throws IOException {
+            completed.put(index, new Chunk(start, dataStart, data));
+            for (Chunk chunk; (chunk = completed.remove(next)) != null; next++) {
+                if (chunk.dataStart() > chunk.start()) {
+                    update(digest, file, chunk.start(), chunk.dataStart());
+                }
+                digest.update(chunk.data());
+                permits.release();
+            }
+        }
+
+        private record Chunk(long start, long dataStart, byte[] data) {}
+    }
+
+    private interface Request<T> {
+        T execute() throws IOException;
+    }
+
+    private record RemoteFile(long length, boolean acceptsRanges, String validator) {}
+
+    private static class UnexpectedStatusException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        UnexpectedStatusException(URI uri, int status) {
+            this(uri, status, "Unexpected status " + status);
+        }
+
+        UnexpectedStatusException(URI uri, int status, String reason) {
+            super(reason + " for: " + uri);
+            this.status = status;
+        }
+
+        boolean isTransient() {
+            return status >= 500
+                    || status == HttpURLConnection.HTTP_CLIENT_TIMEOUT
+                    || status == 429;
+        }
+    }
+}
@@ -22,15 +22,14 @@ package org.zaproxy.gradle;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
-import java.net.ProtocolException;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import org.apache.commons.io.IOUtils;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
@@ -42,7 +41,6 @@ import org.gradle.api.tasks.TaskAction;
 public abstract class SendRepositoryDispatch extends DefaultTask {
 
     private static final int EXPECTED_STATUS_CODE = HttpURLConnection.HTTP_NO_CONTENT;
-    private static final int NO_STATUS_CODE = -1;
 
     @Input
     public abstract Property<GitHubUser> getGitHubUser();
@@ -63,73 +61,65 @@ public abstract class SendRepositoryDispatch extends DefaultTask {
     }
 
     protected void sendRepositoryDispatch(String eventType, Map<String, Object> clientPayload) {
-        HttpURLConnection connection = createConnection();
-        writeRepositoryDispatch(eventType, clientPayload, connection);
+        HttpResponse<String> response = postRepositoryDispatch(eventType, clientPayload);
 
-        int statusCode = getStatusCode(connection);
+        int statusCode = response.statusCode();
         if (statusCode == EXPECTED_STATUS_CODE) {
             return;
         }
 
-        if (statusCode == NO_STATUS_CODE) {
-            throw new TaskException("Unable to get a response.");
-        }
-
         StringBuilder errorMessage = new StringBuilder();
         errorMessage.append(
                 String.format(
                         "Repository dispatch was not successful, expected status code %s received %s.",
                         EXPECTED_STATUS_CODE, statusCode));
 
-        String response = readResponse(connection);
-        if (response != null && !response.isEmpty()) {
-            errorMessage.append("\nResponse:\n").append(response);
+        String body = response.body();
+        if (body != null && !body.isEmpty()) {
+            errorMessage.append("\nResponse:\n").append(body);
         }
         throw new TaskException(errorMessage.toString());
     }
 
-    private HttpURLConnection createConnection() {
-        String url =
-                String.format("https://api.github.com/repos/%s/dispatches", getGitHubRepo().get());
-        HttpURLConnection connection;
+    private HttpResponse<String> postRepositoryDispatch(
+            String eventType, Map<String, Object> clientPayload) {
+        URI uri;
         try {
-            connection = (HttpURLConnection) new URI(url).toURL().openConnection();
-        } catch (Exception e) {
-            throw new TaskException("Failed to create the connection:", e);
+            uri =
+                    new URI(
+                            String.format(
+                                    "https://api.github.com/repos/%s/dispatches",
+                                    getGitHubRepo().get()));
+        } catch (URISyntaxException e) {
+            throw new TaskException("Failed to create the URI:", e);
         }
-        connection.setDoOutput(true);
-        connection.setUseCaches(false);
+
+        byte[] repositoryDispatch;
         try {
-            connection.setRequestMethod("POST");
-        } catch (ProtocolException e) {
-            throw new TaskException("Failed to create the connection:", e);
+            repositoryDispatch = createRepositoryDispatch(eventType, clientPayload);
+        } catch (JsonProcessingException e) {
+            throw new TaskException("Failed to create the request body:", e);
         }
-        connection.setRequestProperty("Accept", "application/vnd.github.v3+json");
-        connection.setRequestProperty("Content-Type", "application/json");
 
         GitHubUser user = getGitHubUser().get();
         String userName = user.getName();
         String token = user.getAuthToken();
         byte[] usernameAuthToken = (userName + ":" + token).getBytes(StandardCharsets.UTF_8);
         String authorization = "Basic " + Base64.getEncoder().encodeToString(usernameAuthToken);
-        connection.setRequestProperty("Authorization", authorization);
 
-        return connection;
-    }
-
-    private void writeRepositoryDispatch(
-            String eventType, Map<String, Object> clientPayload, HttpURLConnection connection) {
-        byte[] repositoryDispatch;
         try {
-            repositoryDispatch = createRepositoryDispatch(eventType, clientPayload);
-        } catch (JsonProcessingException e) {
-            throw new TaskException("Failed to create the request body:", e);
-        }
-
-        try (OutputStream os = connection.getOutputStream()) {
-            os.write(repositoryDispatch);
+            return TaskUtils.getHttpClient(getProject())
+                    .post(
+                            uri,
+                            repositoryDispatch,
+                            "Accept",
+                            "application/vnd.github.v3+json",
+                            "Content-Type",
+                            "application/json",
+                            "Authorization",
+                            authorization);
         } catch (IOException e) {
-            throw new TaskException("Failed to write the repository dispatch:", e);
+            throw new TaskException("Failed to send the repository dispatch:", e);
         }
     }
 
@@ -144,23 +134,4 @@ public abstract class SendRepositoryDispatch extends DefaultTask {
 
         return new ObjectMapper().writeValueAsBytes(repositoryDispatch);
     }
-
-    private int getStatusCode(HttpURLConnection connection) {
-        try {
-            return connection.getResponseCode();
-        } catch (IOException e) {
-            getLogger()
-                    .warn("Failed to read the repository dispatch status code: " + e.getMessage());
-        }
-        return NO_STATUS_CODE;
-    }
-
-    private String readResponse(HttpURLConnection connection) {
-        try {
-            return IOUtils.toString(connection.getErrorStream(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            getLogger().warn("Failed to read the repository dispatch response: " + e.getMessage());
-        }
-        return null;
-    }
 }
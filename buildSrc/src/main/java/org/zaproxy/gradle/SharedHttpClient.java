@@ -0,0 +1,238 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The HTTP client shared by all tasks, through the {@link HttpClientService}.
+ *
+ * <p>Built on {@link HttpClient}, it keeps the connections alive for reuse, prefers HTTP/2, follows
+ * redirects, and limits the number of concurrent requests per host. The requests have connect and
+ * response timeouts, and the text responses are requested compressed with gzip.
+ *
+ * <p>The HTTP version can be chosen per request, e.g. HTTP/1.1 for parallel range requests to the
+ * same host, which with HTTP/2 would be streams of the same connection.
+ */
+final class SharedHttpClient {
+
+    static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(60);
+    static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String GZIP_ENCODING = "gzip";
+
+    private final HttpClient client;
+    private final Duration responseTimeout;
+    private final int maxRequestsPerHost;
+    private final Map<String, Semaphore> hostPermits;
+
+    /** Constructs a {@code SharedHttpClient} with the default configuration. */
+    SharedHttpClient() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_RESPONSE_TIMEOUT, DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Constructs a {@code SharedHttpClient} with the given configuration.
+     *
+     * @param connectTimeout the timeout to establish the connections.
+     * @param responseTimeout the timeout to receive the response headers.
+     * @param maxRequestsPerHost the maximum number of concurrent requests to the same host.
+     */
+    SharedHttpClient(Duration connectTimeout, Duration responseTimeout, int maxRequestsPerHost) {
+        this.client =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .connectTimeout(connectTimeout)
+                        .build();
+        this.responseTimeout = responseTimeout;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.hostPermits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sends a GET request, with the response body as is, not decoded.
+     *
+     * <p>The body must be closed, to release the connection and the request permit of the host.
+     *
+     * @param uri the URI.
+     * @param headers the request headers, name and value pairs.
+     * @return the response.
+     * @throws IOException if an error occurred while sending the request.
+     */
+    HttpResponse<InputStream> get(URI uri, String... headers) throws IOException {
+        return get(uri, null, headers);
+    }
+
+    /**
+     * Sends a GET request with the given HTTP version, with the response body as is, not decoded.
+     *
+     * <p>The body must be closed, to release the connection and the request permit of the host.
+     *
+     * @param uri the URI.
+     * @param version the HTTP version, {@code null} to prefer HTTP/2.
+     * @param headers the request headers, name and value pairs.
+     * @return the response.
+     * @throws IOException if an error occurred while sending the request.
+     */
+    HttpResponse<InputStream> get(URI uri, HttpClient.Version version, String... headers)
+            throws IOException {
+        Semaphore permits = acquire(uri);
+        try {
+            HttpRequest.Builder request = createRequest(uri, headers).GET();
+            if (version != null) {
+                request.version(version);
+            }
+            return send(
+                    request.build(),
+                    responseInfo ->
+                            HttpResponse.BodySubscribers.mapping(
+                                    HttpResponse.BodySubscribers.ofInputStream(),
+                                    body -> new ReleasingInputStream(body, permits)));
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a GET request, with the response body as a string.
+     *
+     * <p>The body is requested compressed with gzip.
+     *
+     * @param uri the URI.
+     * @return the response body.
+     * @throws IOException if an error occurred while sending the request or if the response was not
+     *     successful.
+     */
+    String getString(URI uri) throws IOException {
+        HttpResponse<InputStream> response = get(uri, ACCEPT_ENCODING_HEADER, GZIP_ENCODING);
+        try (InputStream body = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException(
+                        "Unexpected status " + response.statusCode() + " for: " + uri);
+            }
+
+            boolean gzip =
+                    response.headers()
+                            .firstValue(CONTENT_ENCODING_HEADER)
+                            .filter(GZIP_ENCODING::equalsIgnoreCase)
+                            .isPresent();
+            try (InputStream in = gzip ? new GZIPInputStream(body) : body) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Sends a POST request with the given body.
+     *
+     * @param uri the URI.
+     * @param body the request body.
+     * @param headers the request headers, name and value pairs.
+     * @return the response.
+     * @throws IOException if an error occurred while sending the request.
+     */
+    HttpResponse<String> post(URI uri, byte[] body, String... headers) throws IOException {
+        Semaphore permits = acquire(uri);
+        try {
+            return send(
+                    createRequest(uri, headers)
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private HttpRequest.Builder createRequest(URI uri, String... headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(responseTimeout);
+        if (headers.length != 0) {
+            builder.headers(headers);
+        }
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> bodyHandler)
+            throws IOException {
+        try {
+            return client.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while requesting " + request.uri());
+        }
+    }
+
+    private Semaphore acquire(URI uri) throws IOException {
+        Semaphore permits =
+                hostPermits.computeIfAbsent(
+                        uri.getHost(), host -> new Semaphore(maxRequestsPerHost, true));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to request " + uri);
+        }
+        return permits;
+    }
+
+    /** An input stream that releases the request permit of the host once closed. */
+    private static class ReleasingInputStream extends FilterInputStream {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released;
+
+        ReleasingInputStream(InputStream in, Semaphore permits) {
+            super(in);
+            this.permits = permits;
+            this.released = new AtomicBoolean();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
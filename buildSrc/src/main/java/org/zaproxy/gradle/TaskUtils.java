@@ -22,54 +22,233 @@ package org.zaproxy.gradle;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.invocation.Gradle;
+import org.zaproxy.gradle.zapversions.ZapVersions;
+import org.zaproxy.gradle.zapversions.ZapVersionsSnapshot;
 
 final class TaskUtils {
 
     private TaskUtils() {}
 
     private static final String HTTPS_SCHEME = "HTTPS";
+    private static final String ZAP_VERSIONS_SNAPSHOTS_DIR = "zapVersionsSnapshots";
     private static final String ADD_ON_EXTENSION = ".zap";
 
-    static Path downloadAddOn(Task task, String urlString) throws Exception {
-        return downloadAddOn(task, urlString, task.getTemporaryDir().toPath());
+    private static final String DOWNLOAD_CACHE_SERVICE = "zapDownloadCache";
+    private static final String DOWNLOAD_CACHE_DIR = "caches/zap-admin/downloads";
+    private static final long DOWNLOAD_CACHE_MAX_SIZE = 4L * 1024 * 1024 * 1024;
+
+    /**
+     * Reads the given {@code ZapVersions.xml} file, through a snapshot in the build directory
+     * shared by all tasks.
+     */
+    static ZapVersions readZapVersions(Task task, RegularFileProperty zapVersions)
+            throws IOException {
+        Path file = zapVersions.getAsFile().get().toPath();
+        Path snapshot =
+                task.getProject()
+                        .getLayout()
+                        .getBuildDirectory()
+                        .dir(ZAP_VERSIONS_SNAPSHOTS_DIR)
+                        .get()
+                        .getAsFile()
+                        .toPath()
+                        .resolve(file.getFileName() + ".snapshot");
+        return ZapVersionsSnapshot.read(file, snapshot);
     }
 
-    static Path downloadAddOn(Task task, String urlString, Path outputDir) throws Exception {
-        return downloadFile(task, urlString, outputDir.resolve(extractFileName(urlString)));
+    static ChecksummedFile downloadAddOn(
+            Task task, String urlString, String checksumAlgorithm, String expectedChecksum)
+            throws Exception {
+        return downloadAddOn(
+                task,
+                urlString,
+                task.getTemporaryDir().toPath(),
+                checksumAlgorithm,
+                expectedChecksum);
     }
 
+    static ChecksummedFile downloadAddOn(
+            Task task,
+            String urlString,
+            Path outputDir,
+            String checksumAlgorithm,
+            String expectedChecksum)
+            throws Exception {
+        return downloadFile(
+                task,
+                urlString,
+                outputDir.resolve(extractFileName(urlString)),
+                checksumAlgorithm,
+                expectedChecksum);
+    }
+
+    /**
+     * Downloads the text file from the given URL, e.g. a changelog or an SBOM.
+     *
+     * <p>The file is requested compressed, through {@link SharedHttpClient#getString(URI)}, and
+     * written atomically, a failed download does not leave a partial file that would be taken as
+     * downloaded by later runs.
+     *
+     * @param task the task downloading the file.
+     * @param urlString the URL of the file, must use HTTPS.
+     * @param outputFile where to save the file, not downloaded if it already exists.
+     * @return the output file.
+     * @throws Exception if the URL is not valid or an error occurred while downloading the file.
+     */
     static Path downloadFile(Task task, String urlString, Path outputFile) throws Exception {
-        URL url = new URI(urlString).toURL();
-        if (!HTTPS_SCHEME.equalsIgnoreCase(url.getProtocol())) {
-            throw new IllegalArgumentException(
-                    "The provided URL does not use HTTPS scheme: " + url.getProtocol());
+        URI uri = createHttpsUri(urlString);
+        if (isDownloaded(task, outputFile)) {
+            return outputFile;
+        }
+
+        String contents;
+        try {
+            contents = getHttpClient(task.getProject()).getString(uri);
+        } catch (IOException e) {
+            throw new IOException("Failed to download the file: " + e.getMessage(), e);
         }
+        new FileUpdater().write(outputFile, contents.getBytes(StandardCharsets.UTF_8));
+        task.getLogger().info("File downloaded to: " + outputFile);
+        return outputFile;
+    }
 
+    /**
+     * Downloads the file from the given URL, calculating its size and checksum while writing it.
+     *
+     * <p>If the file already exists, with the expected checksum if provided, it's not downloaded
+     * again, its size and checksum are obtained through the {@link ChecksumMemo}. Otherwise the
+     * file is obtained from the {@link DownloadCache}, looked up by the expected checksum, and
+     * downloaded only if not cached.
+     *
+     * <p>The file is downloaded with a {@link RangedDownloader}, it's saved to the output file only
+     * once complete and, if provided, with the expected checksum.
+     *
+     * @param task the task downloading the file.
+     * @param urlString the URL of the file, must use HTTPS.
+     * @param outputFile where to save the file.
+     * @param checksumAlgorithm the checksum algorithm.
+     * @param expectedChecksum the expected checksum, might be {@code null}.
+     * @return the downloaded file, with its size and checksum.
+     * @throws Exception if the URL is not valid, an error occurred while downloading the file, or
+     *     the file does not have the expected checksum.
+     */
+    static ChecksummedFile downloadFile(
+            Task task,
+            String urlString,
+            Path outputFile,
+            String checksumAlgorithm,
+            String expectedChecksum)
+            throws Exception {
+        URI uri = createHttpsUri(urlString);
+        DownloadCacheService downloadCacheService = getDownloadCacheService(task.getProject());
         if (Files.exists(outputFile)) {
-            task.getLogger().info("File already exists at specified path, skipping download.");
-            return outputFile;
+            ChecksummedFile existing =
+                    downloadCacheService.getChecksumMemo().read(outputFile, checksumAlgorithm);
+            if (expectedChecksum == null
+                    || expectedChecksum.isEmpty()
+                    || expectedChecksum.equals(existing.checksum())) {
+                task.getLogger().info("File already exists at specified path, skipping download.");
+                return existing;
+            }
+            task.getLogger()
+                    .warn(
+                            "File at {} does not have the expected checksum, downloading again.",
+                            outputFile);
+            Files.delete(outputFile);
         }
 
-        try (InputStream in = url.openStream()) {
-            Files.copy(in, outputFile);
+        DownloadCache cache = downloadCacheService.getCache();
+        ChecksummedFile file = cache.get(checksumAlgorithm, expectedChecksum, outputFile);
+        if (file != null) {
+            task.getLogger().info("File obtained from the download cache: " + outputFile);
+            return file;
+        }
+
+        try {
+            file =
+                    new RangedDownloader(getHttpClient(task.getProject()))
+                            .download(uri, outputFile, checksumAlgorithm, expectedChecksum);
         } catch (IOException e) {
             throw new IOException("Failed to download the file: " + e.getMessage(), e);
         }
         task.getLogger().info("File downloaded to: " + outputFile);
-        return outputFile;
+
+        cache.put(file);
+        downloadCacheService.getChecksumMemo().put(file);
+        return file;
+    }
+
+    /**
+     * Gets the checksum memo, shared by all tasks and builds, in the Gradle user home.
+     *
+     * @param project the project of the task using the memo.
+     * @return the checksum memo.
+     */
+    static ChecksumMemo getChecksumMemo(Project project) {
+        return getDownloadCacheService(project).getChecksumMemo();
+    }
+
+    /**
+     * Gets the HTTP client, shared by all tasks of the build.
+     *
+     * <p>The client is configured through the {@link HttpClientService}, if registered by the
+     * build, otherwise it has the default configuration.
+     *
+     * @param project the project of the task using the client.
+     * @return the HTTP client.
+     */
+    static SharedHttpClient getHttpClient(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(HttpClientService.NAME, HttpClientService.class, spec -> {})
+                .get()
+                .getClient();
+    }
+
+    private static DownloadCacheService getDownloadCacheService(Project project) {
+        Gradle gradle = project.getGradle();
+        return gradle.getSharedServices()
+                .registerIfAbsent(
+                        DOWNLOAD_CACHE_SERVICE,
+                        DownloadCacheService.class,
+                        spec -> {
+                            File dir = new File(gradle.getGradleUserHomeDir(), DOWNLOAD_CACHE_DIR);
+                            spec.getParameters().getDirectory().set(dir);
+                            spec.getParameters().getMaxSize().set(DOWNLOAD_CACHE_MAX_SIZE);
+                        })
+                .get();
+    }
+
+    private static URI createHttpsUri(String urlString) throws Exception {
+        URI uri = new URI(urlString);
+        if (!HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException(
+                    "The provided URL does not use HTTPS scheme: " + uri.getScheme());
+        }
+        return uri;
+    }
+
+    private static boolean isDownloaded(Task task, Path outputFile) {
+        if (Files.exists(outputFile)) {
+            task.getLogger().info("File already exists at specified path, skipping download.");
+            return true;
+        }
+        return false;
     }
 
     private static String extractFileName(String url) {
@@ -86,21 +265,6 @@ final class TaskUtils {
         return fileName;
     }
 
-    static String calculateChecksum(Path file, String checksumAlgorithm, String expectedChecksum)
-            throws IOException {
-        String checksum = new DigestUtils(checksumAlgorithm).digestAsHex(file.toFile());
-        if (expectedChecksum == null
-                || expectedChecksum.isEmpty()
-                || checksum.equals(expectedChecksum)) {
-            return checksum;
-        }
-
-        throw new IllegalArgumentException(
-                String.format(
-                        "Checksums do not match for: %s\nExpected:\n%s\nActual:\n%s",
-                        file, expectedChecksum, checksum));
-    }
-
     static Set<String> readDeniedAddOns(RegularFileProperty fileProperty) throws IOException {
         Path file = fileProperty.getAsFile().get().toPath();
         Map<String, List<String>> data =
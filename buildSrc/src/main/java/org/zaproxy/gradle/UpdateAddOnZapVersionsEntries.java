@@ -130,16 +130,16 @@ public abstract class UpdateAddOnZapVersionsEntries extends AbstractUpdateZapVer
         updateAddOn(getAddOn(), getDownloadUrl().get(), getReleaseDate().get());
     }
 
-    private Path getAddOn() throws Exception {
+    private ChecksummedFile getAddOn() throws Exception {
         if (getFromFile().isPresent()) {
             Path addOn = getFromFile().getAsFile().get().toPath();
             if (!Files.isRegularFile(addOn)) {
                 throw new IllegalArgumentException(
                         "The provided path does not exist or it's not a file: " + addOn);
             }
-            return addOn;
+            return readChecksummedFile(addOn);
         }
 
-        return TaskUtils.downloadAddOn(this, fromUrl.get());
+        return TaskUtils.downloadAddOn(this, fromUrl.get(), getChecksumAlgorithm().get(), null);
     }
 }
@@ -19,12 +19,11 @@
  */
 package org.zaproxy.gradle;
 
-import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.options.Option;
 
 public abstract class UpdateAndCreatePullRequestAddOnRelease extends CreatePullRequest
@@ -42,6 +41,8 @@ public abstract class UpdateAndCreatePullRequestAddOnRelease extends CreatePullR
 
         setDescription(
                 "Updates ZapVersions and creates a pull request to release an add-on (or several).");
+
+        getMaxConcurrentAddOns().convention(4);
     }
 
     @Option(
@@ -56,30 +57,81 @@ public abstract class UpdateAndCreatePullRequestAddOnRelease extends CreatePullR
         return envVar;
     }
 
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentAddOns();
+
     @Override
     public void pullRequest() throws Exception {
         commitDescription.append("Release the following add-ons:");
 
-        List<String> releasedAddOns = new ArrayList<>();
         String data = System.getenv(getEnvVar().get());
-        for (AddOnReleaseData.Release release : AddOnReleaseData.read(data).getAddOns()) {
-            String downloadUrl = release.getUrl();
-
-            Path addOn = TaskUtils.downloadAddOn(this, downloadUrl);
-            calculateChecksum(addOn, release.getChecksum());
-            updateAddOn(
-                    addOn,
-                    downloadUrl,
-                    LocalDate.now(),
-                    addOnEntry ->
-                            releasedAddOns.add(
-                                    "\n - "
-                                            + addOnEntry.getName()
-                                            + " version "
-                                            + addOnEntry.getVersion()));
-        }
-        releasedAddOns.stream().sorted().forEach(commitDescription::append);
+        List<AddOnEntry> addOnEntries = createAddOnEntries(AddOnReleaseData.read(data).getAddOns());
+        updateAddOns(addOnEntries);
+
+        addOnEntries.stream()
+                .map(e -> "\n - " + e.getName() + " version " + e.getVersion())
+                .sorted()
+                .forEach(commitDescription::append);
 
         super.pullRequest();
     }
+
+    /**
+     * Creates the entries of the add-ons through a pipeline, each add-on is parsed and built while
+     * the others are still being downloaded, the add-ons are parsed and built in parallel too. If
+     * one fails the others are cancelled.
+     *
+     * <p>The checksums of the add-ons are verified when downloaded, or obtained from the download
+     * cache.
+     *
+     * <p>The counters of the stages are logged at info level.
+     *
+     * @param releases the add-ons being released.
+     * @return the entries of the add-ons, sorted by ID.
+     * @throws Exception if an error occurred while downloading or reading any of the add-ons.
+     */
+    private List<AddOnEntry> createAddOnEntries(List<AddOnReleaseData.Release> releases)
+            throws Exception {
+        if (releases.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate releaseDate = LocalDate.now();
+        int maxConcurrentAddOns = getMaxConcurrentAddOns().get();
+        int workers = Math.min(releases.size(), maxConcurrentAddOns);
+        Pipeline<AddOnReleaseData.Release, AddOnEntry> pipeline =
+                Pipeline.<AddOnReleaseData.Release>create(maxConcurrentAddOns)
+                        .then("fetch", workers, this::fetch)
+                        .then("parse", workers, this::parse)
+                        .then("build", workers, addOn -> build(addOn, releaseDate));
+        try {
+            List<AddOnEntry> addOnEntries = pipeline.run(releases);
+            addOnEntries.sort(null);
+            return addOnEntries;
+        } finally {
+            pipeline.getStages().forEach(stage -> getLogger().info("Add-on release {}", stage));
+        }
+    }
+
+    private FetchedAddOn fetch(AddOnReleaseData.Release release) throws Exception {
+        String downloadUrl = release.getUrl();
+        ChecksummedFile addOn =
+                TaskUtils.downloadAddOn(
+                        this, downloadUrl, getChecksumAlgorithm().get(), release.getChecksum());
+        return new FetchedAddOn(downloadUrl, addOn);
+    }
+
+    private ParsedAddOn parse(FetchedAddOn addOn) throws Exception {
+        return new ParsedAddOn(addOn, readManifest(addOn.file()));
+    }
+
+    private AddOnEntry build(ParsedAddOn addOn, LocalDate releaseDate) throws Exception {
+        FetchedAddOn fetched = addOn.fetched();
+        return createAddOnEntry(
+                fetched.file(), addOn.manifest(), fetched.downloadUrl(), releaseDate);
+    }
+
+    private record FetchedAddOn(String downloadUrl, ChecksummedFile file) {}
+
+    private record ParsedAddOn(FetchedAddOn fetched, AddOnManifest manifest) {}
 }
@@ -19,10 +19,6 @@
  */
 package org.zaproxy.gradle;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URI;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.gradle.api.file.RegularFileProperty;
@@ -32,15 +28,15 @@ import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.zaproxy.gradle.zapversions.ZapVersionsRewriter;
 
 /** A task that updates {@code ZapVersions.xml} files with a daily release. */
 public abstract class UpdateDailyZapVersionsEntries extends AbstractUpdateZapVersionsEntries {
 
-    private static final String HTTPS_SCHEME = "HTTPS";
     private static final String DAILY_RELEASE_EXTENSION = ".zip";
 
-    private static final String DAILY_VERSION_ELEMENT = "core.daily-version";
-    private static final String DAILY_ELEMENT = "core.daily";
+    private static final String DAILY_VERSION_ELEMENT = "daily-version";
+    private static final String DAILY_ELEMENT = "daily";
     private static final String DAILY_FILE_ELEMENT = DAILY_ELEMENT + ".file";
     private static final String DAILY_HASH_ELEMENT = DAILY_ELEMENT + ".hash";
     private static final String DAILY_SIZE_ELEMENT = DAILY_ELEMENT + ".size";
@@ -87,8 +83,8 @@ public abstract class UpdateDailyZapVersionsEntries extends AbstractUpdateZapVer
 
     @TaskAction
     public void update() throws Exception {
-        Path dailyRelease = getReleaseFile();
-        String fileName = dailyRelease.getFileName().toString();
+        ChecksummedFile dailyRelease = getReleaseFile();
+        String fileName = dailyRelease.file().getFileName().toString();
         String dailyVersion = getDailyVersion(fileName);
         String url;
         if (getFrom().isPresent()) {
@@ -101,16 +97,18 @@ public abstract class UpdateDailyZapVersionsEntries extends AbstractUpdateZapVer
         }
 
         String hash = createChecksumString(dailyRelease, getChecksum().getOrNull());
-        String size = String.valueOf(Files.size(dailyRelease));
+        String size = String.valueOf(dailyRelease.size());
 
         updateZapVersionsFiles(
-                zapVersionsXml -> {
-                    zapVersionsXml.setProperty(DAILY_VERSION_ELEMENT, dailyVersion);
-                    zapVersionsXml.setProperty(DAILY_FILE_ELEMENT, fileName);
-                    zapVersionsXml.setProperty(DAILY_HASH_ELEMENT, hash);
-                    zapVersionsXml.setProperty(DAILY_SIZE_ELEMENT, size);
-                    zapVersionsXml.setProperty(DAILY_URL_ELEMENT, url);
-                });
+                new ZapVersionsRewriter()
+                        .updateCore(
+                                core -> {
+                                    core.setValue(DAILY_VERSION_ELEMENT, dailyVersion);
+                                    core.setValue(DAILY_FILE_ELEMENT, fileName);
+                                    core.setValue(DAILY_HASH_ELEMENT, hash);
+                                    core.setValue(DAILY_SIZE_ELEMENT, size);
+                                    core.setValue(DAILY_URL_ELEMENT, url);
+                                }));
     }
 
     private String getDailyVersion(String fileName) {
@@ -127,14 +125,14 @@ public abstract class UpdateDailyZapVersionsEntries extends AbstractUpdateZapVer
         return fileName.substring(beginIdx, endIdx);
     }
 
-    private Path getReleaseFile() throws Exception {
+    private ChecksummedFile getReleaseFile() throws Exception {
         if (getFrom().isPresent()) {
             Path release = getFrom().getAsFile().get().toPath();
             if (!Files.isRegularFile(release)) {
                 throw new IllegalArgumentException(
                         "The provided path does not exist or it's not a file: " + release);
             }
-            return release;
+            return readChecksummedFile(release);
         }
 
         if (!getChecksum().isPresent()) {
@@ -143,25 +141,12 @@ public abstract class UpdateDailyZapVersionsEntries extends AbstractUpdateZapVer
         }
 
         String urlString = getFromUrl().get();
-        URL url = new URI(urlString).toURL();
-        if (!HTTPS_SCHEME.equalsIgnoreCase(url.getProtocol())) {
-            throw new IllegalArgumentException(
-                    "The provided URL does not use HTTPS scheme: " + url.getProtocol());
-        }
-
-        Path release = getTemporaryDir().toPath().resolve(extractFileName(urlString));
-        if (Files.exists(release)) {
-            getLogger().info("File already exists, skipping download.");
-            return release;
-        }
-
-        try (InputStream in = url.openStream()) {
-            Files.copy(in, release);
-        } catch (IOException e) {
-            throw new IOException("Failed to download the file: " + e.getMessage(), e);
-        }
-        getLogger().info("File downloaded to: " + release);
-        return release;
+        return TaskUtils.downloadFile(
+                this,
+                urlString,
+                getTemporaryDir().toPath().resolve(extractFileName(urlString)),
+                getChecksumAlgorithm().get(),
+                getChecksum().get());
     }
 
     private static String extractFileName(String url) {
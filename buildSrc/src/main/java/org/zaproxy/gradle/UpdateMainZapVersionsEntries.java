@@ -19,18 +19,25 @@
  */
 package org.zaproxy.gradle;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.zaproxy.gradle.zapversions.ZapVersionsRewriter;
 
 /** A task that updates {@code ZapVersions.xml} files with a main release. */
 public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVersionsEntries {
@@ -40,14 +47,14 @@ public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVers
     private static final String VERSION_TOKEN = "@@VERSION@@";
     private static final String VERSION_UNDERSCORES_TOKEN = "@@VERSION_UNDERSCORES@@";
 
-    private static final String CORE_VERSION_ELEMENT = "core.version";
-    private static final String CORE_REL_NOTES_ELEMENT = "core.relnotes";
-    private static final String CORE_REL_NOTES_URL_ELEMENT = "core.relnotes-url";
+    private static final String CORE_VERSION_ELEMENT = "version";
+    private static final String CORE_REL_NOTES_ELEMENT = "relnotes";
+    private static final String CORE_REL_NOTES_URL_ELEMENT = "relnotes-url";
 
-    private static final String WINDOWS_32_ELEMENT = "core.windows32";
-    private static final String WINDOWS_64_ELEMENT = "core.windows";
-    private static final String LINUX_ELEMENT = "core.linux";
-    private static final String MAC_ELEMENT = "core.mac";
+    private static final String WINDOWS_32_ELEMENT = "windows32";
+    private static final String WINDOWS_64_ELEMENT = "windows";
+    private static final String LINUX_ELEMENT = "linux";
+    private static final String MAC_ELEMENT = "mac";
 
     private static final String FILE_ELEMENT = ".file";
     private static final String HASH_ELEMENT = ".hash";
@@ -59,6 +66,8 @@ public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVers
 
     public UpdateMainZapVersionsEntries() {
         setDescription("Updates ZapVersions.xml files with a main release.");
+
+        getMaxConcurrentDownloads().convention(4);
     }
 
     @Option(option = "release", description = "The main release version.")
@@ -90,6 +99,9 @@ public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVers
     @Input
     public abstract Property<String> getReleaseNotesUrl();
 
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentDownloads();
+
     @TaskAction
     public void update() throws Exception {
         validateNotEmpty(getVersion(), "version");
@@ -117,44 +129,44 @@ public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVers
                     "Failed to parse the download URL: " + e.getMessage(), e);
         }
 
-        List<ReleaseFile> releaseFiles = new ArrayList<>();
-        releaseFiles.add(
-                createReleaseFile(
-                        WINDOWS_32_ELEMENT,
-                        createDownloadUrl(finalBaseDownloadUrl, getWindows32FileName().get())));
-        releaseFiles.add(
-                createReleaseFile(
-                        WINDOWS_64_ELEMENT,
-                        createDownloadUrl(finalBaseDownloadUrl, getWindows64FileName().get())));
-        releaseFiles.add(
-                createReleaseFile(
-                        LINUX_ELEMENT,
-                        createDownloadUrl(finalBaseDownloadUrl, getLinuxFileName().get())));
-        releaseFiles.add(
-                createReleaseFile(
-                        MAC_ELEMENT,
-                        createDownloadUrl(finalBaseDownloadUrl, getMacFileName().get())));
-
+        Map<String, String> releaseUrls = new LinkedHashMap<>();
+        releaseUrls.put(
+                WINDOWS_32_ELEMENT,
+                createDownloadUrl(finalBaseDownloadUrl, getWindows32FileName().get()));
+        releaseUrls.put(
+                WINDOWS_64_ELEMENT,
+                createDownloadUrl(finalBaseDownloadUrl, getWindows64FileName().get()));
+        releaseUrls.put(
+                LINUX_ELEMENT, createDownloadUrl(finalBaseDownloadUrl, getLinuxFileName().get()));
+        releaseUrls.put(
+                MAC_ELEMENT, createDownloadUrl(finalBaseDownloadUrl, getMacFileName().get()));
+        List<ReleaseFile> releaseFiles = createReleaseFiles(releaseUrls);
+
+        String releaseNotes = getReleaseNotes().get();
+        String releaseNotesUrl = replaceVersionTokens(getReleaseNotesUrl().get());
         updateZapVersionsFiles(
-                zapVersionsXml -> {
-                    zapVersionsXml.setProperty(CORE_VERSION_ELEMENT, versionDots);
-                    zapVersionsXml.setProperty(CORE_REL_NOTES_ELEMENT, getReleaseNotes().get());
-                    zapVersionsXml.setProperty(
-                            CORE_REL_NOTES_URL_ELEMENT,
-                            replaceVersionTokens(getReleaseNotesUrl().get()));
-
-                    releaseFiles.forEach(
-                            c -> {
-                                zapVersionsXml.setProperty(
-                                        c.getKeyPrefix() + FILE_ELEMENT, c.getFileName());
-                                zapVersionsXml.setProperty(
-                                        c.getKeyPrefix() + HASH_ELEMENT, c.getHash());
-                                zapVersionsXml.setProperty(
-                                        c.getKeyPrefix() + SIZE_ELEMENT, c.getSize());
-                                zapVersionsXml.setProperty(
-                                        c.getKeyPrefix() + URL_ELEMENT, c.getUrl());
-                            });
-                });
+                new ZapVersionsRewriter()
+                        .updateCore(
+                                core -> {
+                                    core.setValue(CORE_VERSION_ELEMENT, versionDots);
+                                    core.setValue(CORE_REL_NOTES_ELEMENT, releaseNotes);
+                                    core.setValue(CORE_REL_NOTES_URL_ELEMENT, releaseNotesUrl);
+
+                                    releaseFiles.forEach(
+                                            c -> {
+                                                core.setValue(
+                                                        c.getKeyPrefix() + FILE_ELEMENT,
+                                                        c.getFileName());
+                                                core.setValue(
+                                                        c.getKeyPrefix() + HASH_ELEMENT,
+                                                        c.getHash());
+                                                core.setValue(
+                                                        c.getKeyPrefix() + SIZE_ELEMENT,
+                                                        c.getSize());
+                                                core.setValue(
+                                                        c.getKeyPrefix() + URL_ELEMENT, c.getUrl());
+                                            });
+                                }));
     }
 
     private static void validateNotEmpty(Property<String> property, String propertyName) {
@@ -168,40 +180,79 @@ public abstract class UpdateMainZapVersionsEntries extends AbstractUpdateZapVers
                 .replace(VERSION_UNDERSCORES_TOKEN, versionUnderscores);
     }
 
+    /**
+     * Downloads and hashes the release files concurrently, if one fails the others are cancelled.
+     *
+     * @param releaseUrls the URLs of the release files, by key prefix.
+     * @return the release files, in the same order as the URLs.
+     * @throws Exception if an error occurred while downloading any of the files.
+     */
+    private List<ReleaseFile> createReleaseFiles(Map<String, String> releaseUrls) throws Exception {
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.min(releaseUrls.size(), getMaxConcurrentDownloads().get()));
+        CompletionService<ReleaseFile> completionService =
+                new ExecutorCompletionService<>(executor);
+        List<Future<ReleaseFile>> downloads = new ArrayList<>();
+        try {
+            releaseUrls.forEach(
+                    (keyPrefix, url) ->
+                            downloads.add(
+                                    completionService.submit(
+                                            () -> createReleaseFile(keyPrefix, url))));
+
+            for (int i = 0; i < downloads.size(); i++) {
+                try {
+                    completionService.take().get();
+                } catch (ExecutionException e) {
+                    downloads.forEach(download -> download.cancel(true));
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+
+            List<ReleaseFile> releaseFiles = new ArrayList<>(downloads.size());
+            for (Future<ReleaseFile> download : downloads) {
+                releaseFiles.add(download.get());
+            }
+            return releaseFiles;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private ReleaseFile createReleaseFile(String keyPrefix, String url) throws Exception {
-        Path file = downloadFile(url);
+        long start = System.nanoTime();
+        ChecksummedFile file = downloadFile(url);
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        getLogger()
+                .lifecycle(
+                        "Obtained {} ({} bytes) in {} ms, {} KiB/s.",
+                        file.file().getFileName(),
+                        file.size(),
+                        elapsedMs,
+                        file.size() * 1000 / 1024 / elapsedMs);
         return new ReleaseFile(
                 keyPrefix,
                 url,
-                file.getFileName().toString(),
+                file.file().getFileName().toString(),
                 createChecksumString(file),
-                String.valueOf(Files.size(file)));
+                String.valueOf(file.size()));
     }
 
     private String createDownloadUrl(String baseUrl, String name) {
         return baseUrl + replaceVersionTokens(name);
     }
 
-    private Path downloadFile(String urlString) throws Exception {
-        URL url = new URI(urlString).toURL();
-        if (!HTTPS_SCHEME.equalsIgnoreCase(url.getProtocol())) {
-            throw new IllegalArgumentException(
-                    "The provided URL does not use HTTPS scheme: " + url.getProtocol());
-        }
-
-        Path file = getTemporaryDir().toPath().resolve(extractFileName(urlString));
-        if (Files.exists(file)) {
-            getLogger().info("File already exists, skipping download.");
-            return file;
-        }
-
-        try (InputStream in = url.openStream()) {
-            Files.copy(in, file);
-        } catch (IOException e) {
-            throw new IOException("Failed to download the file: " + e.getMessage(), e);
-        }
-        getLogger().info("File downloaded to: " + file);
-        return file;
+    private ChecksummedFile downloadFile(String urlString) throws Exception {
+        return TaskUtils.downloadFile(
+                this,
+                urlString,
+                getTemporaryDir().toPath().resolve(extractFileName(urlString)),
+                getChecksumAlgorithm().get(),
+                null);
     }
 
     private static String extractFileName(String url) {
@@ -23,12 +23,23 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.function.Consumer;
-import org.apache.commons.configuration.XMLConfiguration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.gradle.api.Project;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.logging.Logger;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.zaproxy.gradle.zapversions.ZapVersionsRewriter;
 
 interface UpdateZapVersionsEntries {
 
@@ -38,33 +49,103 @@ interface UpdateZapVersionsEntries {
     @Input
     Property<String> getChecksumAlgorithm();
 
-    default void updateZapVersionsFiles(Consumer<XMLConfiguration> consumer) throws Exception {
+    @Internal
+    Logger getLogger();
+
+    @Internal
+    Project getProject();
+
+    /**
+     * Updates the {@code ZapVersions.xml} files with the given rewriter.
+     *
+     * <p>The files are updated concurrently, the rewriter should have all the data (e.g. checksums)
+     * already computed. Failures are reported per file, after all files were processed. The files
+     * are only written if changed, through a {@link FileUpdater}.
+     *
+     * @param rewriter the rewriter with the changes.
+     * @throws Exception if the checksum algorithm or the files are not valid.
+     * @throws TaskException if failed to update any of the files.
+     */
+    default void updateZapVersionsFiles(ZapVersionsRewriter rewriter) throws Exception {
         if (getChecksumAlgorithm().get().isEmpty()) {
             throw new IllegalArgumentException("The checksum algorithm must not be empty.");
         }
 
+        List<Path> zapVersionsFiles = new ArrayList<>();
         for (File zapVersionsFile : getInto()) {
             if (!Files.isRegularFile(zapVersionsFile.toPath())) {
                 throw new IllegalArgumentException(
                         "The provided path is not a file: " + zapVersionsFile);
             }
+            zapVersionsFiles.add(zapVersionsFile.toPath());
+        }
+
+        if (zapVersionsFiles.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.min(
+                                zapVersionsFiles.size(),
+                                Runtime.getRuntime().availableProcessors()));
+        FileUpdater fileUpdater = new FileUpdater();
+        Map<Path, Throwable> failures = new LinkedHashMap<>();
+        try {
+            Map<Path, Future<?>> updates = new LinkedHashMap<>();
+            for (Path file : zapVersionsFiles) {
+                updates.put(file, executor.submit(() -> rewriter.patch(file, fileUpdater)));
+            }
+
+            for (Map.Entry<Path, Future<?>> update : updates.entrySet()) {
+                try {
+                    update.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(update.getKey(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        getLogger().lifecycle("ZapVersions files: {}", fileUpdater);
 
-            XMLConfiguration zapVersionsXml = new CustomXmlConfiguration();
-            zapVersionsXml.load(zapVersionsFile);
-            consumer.accept(zapVersionsXml);
-            zapVersionsXml.save(zapVersionsFile);
+        if (!failures.isEmpty()) {
+            TaskException exception =
+                    new TaskException(
+                            String.format(
+                                    "Failed to update %d of %d ZapVersions files:%n%s",
+                                    failures.size(),
+                                    zapVersionsFiles.size(),
+                                    failures.entrySet().stream()
+                                            .map(
+                                                    e ->
+                                                            " - "
+                                                                    + e.getKey()
+                                                                    + ": "
+                                                                    + e.getValue().getMessage())
+                                            .collect(Collectors.joining(System.lineSeparator()))));
+            failures.values().forEach(exception::addSuppressed);
+            throw exception;
         }
     }
 
-    default String createChecksumString(Path file) throws IOException {
-        return createChecksumString(file, null);
+    /**
+     * Reads the given file, calculating its size and checksum with the checksum algorithm of the
+     * task, unless already known by the {@link ChecksumMemo}.
+     *
+     * @param file the file to read.
+     * @return the file with its size and checksum.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    default ChecksummedFile readChecksummedFile(Path file) throws IOException {
+        return TaskUtils.getChecksumMemo(getProject()).read(file, getChecksumAlgorithm().get());
     }
 
-    default String createChecksumString(Path file, String expectedChecksum) throws IOException {
-        return getChecksumAlgorithm().get() + ":" + calculateChecksum(file, expectedChecksum);
+    default String createChecksumString(ChecksummedFile file) {
+        return createChecksumString(file, null);
     }
 
-    default String calculateChecksum(Path file, String expectedChecksum) throws IOException {
-        return TaskUtils.calculateChecksum(file, getChecksumAlgorithm().get(), expectedChecksum);
+    default String createChecksumString(ChecksummedFile file, String expectedChecksum) {
+        return file.checksumAlgorithm() + ":" + file.verifyChecksum(expectedChecksum);
     }
 }
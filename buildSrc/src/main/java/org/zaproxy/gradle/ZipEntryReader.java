@@ -0,0 +1,234 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads a single entry of a ZIP file, without opening the whole file.
+ *
+ * <p>The end of central directory record is located at the end of the file, the central directory
+ * is scanned for the entry, and only that entry is read and, if compressed, inflated. Unlike {@link
+ * ZipFile}, no index of all the entries is built.
+ *
+ * <p>ZIP64 files are read with {@code ZipFile}.
+ */
+final class ZipEntryReader {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int CEN_SIZE = 46;
+
+    private static final int LOC_SIGNATURE = 0x04034b50;
+    private static final int LOC_SIZE = 30;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private ZipEntryReader() {}
+
+    /**
+     * Reads the entry with the given name.
+     *
+     * @param zip the ZIP file.
+     * @param entryName the name of the entry.
+     * @return the contents of the entry, or {@code null} if the file does not have the entry.
+     * @throws IOException if an error occurred while reading the file or if it's not valid.
+     */
+    static byte[] read(Path zip, String entryName) throws IOException {
+        try (FileChannel channel = FileChannel.open(zip, StandardOpenOption.READ)) {
+            ByteBuffer eocd = findEndOfCentralDirectory(channel);
+            int entries = Short.toUnsignedInt(eocd.getShort(10));
+            long cenSize = Integer.toUnsignedLong(eocd.getInt(12));
+            long cenOffset = Integer.toUnsignedLong(eocd.getInt(16));
+            if (entries == ZIP64_MAGIC_COUNT
+                    || cenSize == ZIP64_MAGIC
+                    || cenOffset == ZIP64_MAGIC) {
+                return readWithZipFile(zip, entryName);
+            }
+
+            // Account for data before the ZIP file (e.g. self-extracting archives).
+            long cenStart = eocd.getLong(EOCD_SIZE) - cenSize;
+            long base = cenStart - cenOffset;
+            if (cenStart < 0 || base < 0) {
+                throw new ZipException("Invalid central directory in: " + zip);
+            }
+
+            ByteBuffer cen = read(channel, cenStart, (int) cenSize);
+            byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+            for (int pos = 0, i = 0; i < entries; i++) {
+                if (cen.getInt(pos) != CEN_SIGNATURE) {
+                    throw new ZipException("Invalid central directory entry in: " + zip);
+                }
+                int nameLength = Short.toUnsignedInt(cen.getShort(pos + 28));
+                int extraLength = Short.toUnsignedInt(cen.getShort(pos + 30));
+                int commentLength = Short.toUnsignedInt(cen.getShort(pos + 32));
+                if (nameLength == name.length
+                        && Arrays.equals(
+                                cen.array(),
+                                pos + CEN_SIZE,
+                                pos + CEN_SIZE + nameLength,
+                                name,
+                                0,
+                                name.length)) {
+                    return readEntry(channel, cen, pos, base, zip, entryName);
+                }
+                pos += CEN_SIZE + nameLength + extraLength + commentLength;
+            }
+            return null;
+        } catch (IndexOutOfBoundsException e) {
+            throw new ZipException("Truncated central directory in: " + zip);
+        }
+    }
+
+    /**
+     * Finds the end of central directory record.
+     *
+     * @return the record, with the position of the record appended as a long.
+     */
+    private static ByteBuffer findEndOfCentralDirectory(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int tailSize = (int) Math.min(size, EOCD_SIZE + MAX_COMMENT_SIZE);
+        long tailStart = size - tailSize;
+        ByteBuffer tail = read(channel, tailStart, tailSize);
+        for (int pos = tailSize - EOCD_SIZE; pos >= 0; pos--) {
+            if (tail.getInt(pos) == EOCD_SIGNATURE
+                    && pos + EOCD_SIZE + Short.toUnsignedInt(tail.getShort(pos + 20))
+                            == tailSize) {
+                ByteBuffer eocd =
+                        ByteBuffer.allocate(EOCD_SIZE + Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                eocd.put(tail.array(), pos, EOCD_SIZE).putLong(tailStart + pos);
+                return eocd;
+            }
+        }
+        throw new ZipException("End of central directory not found, not a ZIP file?");
+    }
+
+    private static byte[] readEntry(
+            FileChannel channel, ByteBuffer cen, int pos, long base, Path zip, String entryName)
+            throws IOException {
+        int method = Short.toUnsignedInt(cen.getShort(pos + 10));
+        long crc = Integer.toUnsignedLong(cen.getInt(pos + 16));
+        long compressedSize = Integer.toUnsignedLong(cen.getInt(pos + 20));
+        long size = Integer.toUnsignedLong(cen.getInt(pos + 24));
+        long locOffset = Integer.toUnsignedLong(cen.getInt(pos + 42));
+        if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || locOffset == ZIP64_MAGIC) {
+            return readWithZipFile(zip, entryName);
+        }
+        if (compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE) {
+            throw new ZipException("Entry too large to read into memory: " + entryName);
+        }
+
+        ByteBuffer loc = read(channel, base + locOffset, LOC_SIZE);
+        if (loc.getInt(0) != LOC_SIGNATURE) {
+            throw new ZipException("Invalid local header of " + entryName + " in: " + zip);
+        }
+        long dataOffset =
+                base
+                        + locOffset
+                        + LOC_SIZE
+                        + Short.toUnsignedInt(loc.getShort(26))
+                        + Short.toUnsignedInt(loc.getShort(28));
+        byte[] data = read(channel, dataOffset, (int) compressedSize).array();
+
+        byte[] contents =
+                switch (method) {
+                    case ZipEntry.STORED -> data;
+                    case ZipEntry.DEFLATED -> inflate(data, (int) size, entryName);
+                    default ->
+                            throw new ZipException(
+                                    "Unsupported compression method "
+                                            + method
+                                            + " of "
+                                            + entryName
+                                            + " in: "
+                                            + zip);
+                };
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(contents);
+        if (contents.length != size || crc32.getValue() != crc) {
+            throw new ZipException("Invalid size or CRC of " + entryName + " in: " + zip);
+        }
+        return contents;
+    }
+
+    private static byte[] inflate(byte[] data, int size, String entryName) throws ZipException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            byte[] contents = new byte[size];
+            int length = 0;
+            while (length < size && !inflater.finished()) {
+                int inflated = inflater.inflate(contents, length, size - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            return length == size ? contents : Arrays.copyOf(contents, length);
+        } catch (DataFormatException e) {
+            throw new ZipException("Failed to inflate " + entryName + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException("Unexpected end of ZIP file.");
+            }
+        }
+        return buffer.clear();
+    }
+
+    private static byte[] readWithZipFile(Path zip, String entryName) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            ZipEntry entry = zipFile.getEntry(entryName);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable graph of the dependencies between the add-ons of a {@link ZapVersions}.
+ *
+ * <p>The add-ons are mapped to ints, in the order of their IDs, and the dependencies and the
+ * dependents of each add-on are kept in adjacency arrays. Dependencies on add-ons not present are
+ * ignored, they can't be released along with the others.
+ *
+ * <p>The release order has the dependencies of an add-on before the add-on, ties are broken by ID.
+ * The add-ons in dependency cycles, and those that depend on them, have no release order.
+ */
+public final class AddOnDependencyGraph {
+
+    private final String[] ids;
+    private final Map<String, Integer> indexes;
+
+    private final int[] dependencyOffsets;
+    private final int[] dependencies;
+    private final int[] dependentOffsets;
+    private final int[] dependents;
+
+    private final int[] releaseOrder;
+    private final int[] releasePositions;
+    private final List<List<String>> cycles;
+
+    private AddOnDependencyGraph(ZapVersions zapVersions) {
+        List<ZapVersions.AddOn> addOns = new ArrayList<>(zapVersions.getAddOns());
+        addOns.sort(Comparator.comparing(ZapVersions.AddOn::id));
+        int count = addOns.size();
+
+        ids = new String[count];
+        indexes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ids[i] = addOns.get(i).id();
+            indexes.put(ids[i], i);
+        }
+
+        dependencyOffsets = new int[count + 1];
+        int[] edges = new int[count];
+        int edgeCount = 0;
+        for (int i = 0; i < count; i++) {
+            int start = edgeCount;
+            for (ZapVersions.Dependency dependency : addOns.get(i).dependencies()) {
+                Integer index = indexes.get(dependency.id());
+                if (index == null || contains(edges, start, edgeCount, index)) {
+                    continue;
+                }
+                if (edgeCount == edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2 + 1);
+                }
+                edges[edgeCount++] = index;
+            }
+            Arrays.sort(edges, start, edgeCount);
+            dependencyOffsets[i + 1] = edgeCount;
+        }
+        dependencies = Arrays.copyOf(edges, edgeCount);
+
+        dependentOffsets = new int[count + 1];
+        for (int dependency : dependencies) {
+            dependentOffsets[dependency + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            dependentOffsets[i + 1] += dependentOffsets[i];
+        }
+        dependents = new int[edgeCount];
+        int[] next = Arrays.copyOf(dependentOffsets, count);
+        for (int i = 0; i < count; i++) {
+            for (int e = dependencyOffsets[i]; e < dependencyOffsets[i + 1]; e++) {
+                dependents[next[dependencies[e]]++] = i;
+            }
+        }
+
+        releaseOrder = createReleaseOrder();
+        releasePositions = new int[count];
+        Arrays.fill(releasePositions, Integer.MAX_VALUE);
+        for (int i = 0; i < releaseOrder.length; i++) {
+            releasePositions[releaseOrder[i]] = i;
+        }
+        cycles = releaseOrder.length == count ? List.of() : findCycles();
+    }
+
+    /**
+     * Creates the dependency graph of the add-ons of the given {@code ZapVersions}.
+     *
+     * @param zapVersions the {@code ZapVersions} with the add-ons.
+     * @return the dependency graph.
+     */
+    public static AddOnDependencyGraph from(ZapVersions zapVersions) {
+        return new AddOnDependencyGraph(zapVersions);
+    }
+
+    /**
+     * Gets the IDs of the add-ons, sorted.
+     *
+     * @return the IDs of the add-ons, never {@code null}.
+     */
+    public List<String> getAddOnIds() {
+        return List.of(ids);
+    }
+
+    /**
+     * Tells whether or not the graph has the add-on with the given ID.
+     *
+     * @param id the ID of the add-on.
+     * @return {@code true} if the graph has the add-on, {@code false} otherwise.
+     */
+    public boolean contains(String id) {
+        return indexes.containsKey(id);
+    }
+
+    /**
+     * Gets the add-ons the given add-on depends on directly.
+     *
+     * @param id the ID of the add-on.
+     * @return the IDs of the dependencies, sorted.
+     * @throws IllegalArgumentException if the graph does not have the add-on.
+     */
+    public List<String> getDependencies(String id) {
+        int index = getIndex(id);
+        return toIds(dependencies, dependencyOffsets[index], dependencyOffsets[index + 1]);
+    }
+
+    /**
+     * Gets the add-ons that depend directly on the given add-on.
+     *
+     * @param id the ID of the add-on.
+     * @return the IDs of the dependents, sorted.
+     * @throws IllegalArgumentException if the graph does not have the add-on.
+     */
+    public List<String> getDependents(String id) {
+        int index = getIndex(id);
+        return toIds(dependents, dependentOffsets[index], dependentOffsets[index + 1]);
+    }
+
+    /**
+     * Gets the add-ons that depend, directly or transitively, on the given add-on, that is, the
+     * add-ons that should be released again when the given add-on changes.
+     *
+     * @param id the ID of the add-on.
+     * @return the IDs of the dependents, in release order, followed by the ones without release
+     *     order sorted by ID.
+     * @throws IllegalArgumentException if the graph does not have the add-on.
+     */
+    public List<String> getAllDependents(String id) {
+        int index = getIndex(id);
+        boolean[] visited = new boolean[ids.length];
+        visited[index] = true;
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(index);
+        List<Integer> found = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            int current = pending.poll();
+            for (int e = dependentOffsets[current]; e < dependentOffsets[current + 1]; e++) {
+                int dependent = dependents[e];
+                if (!visited[dependent]) {
+                    visited[dependent] = true;
+                    found.add(dependent);
+                    pending.add(dependent);
+                }
+            }
+        }
+        found.sort(
+                Comparator.<Integer>comparingInt(i -> releasePositions[i])
+                        .thenComparingInt(i -> i));
+        return found.stream().map(i -> ids[i]).toList();
+    }
+
+    /**
+     * Gets the order in which the add-ons can be released, each add-on after its dependencies.
+     *
+     * @return the IDs of all the add-ons, in release order.
+     * @throws IllegalStateException if the add-ons have dependency cycles.
+     * @see #getCycles()
+     */
+    public List<String> getReleaseOrder() {
+        if (hasCycles()) {
+            throw new IllegalStateException("The add-ons have dependency cycles: " + cycles);
+        }
+        return toIds(releaseOrder, 0, releaseOrder.length);
+    }
+
+    /**
+     * Tells whether or not the add-ons have dependency cycles.
+     *
+     * @return {@code true} if there are cycles, {@code false} otherwise.
+     */
+    public boolean hasCycles() {
+        return !cycles.isEmpty();
+    }
+
+    /**
+     * Gets the dependency cycles, the add-ons that depend on each other.
+     *
+     * @return the cycles, each with the IDs sorted, never {@code null}.
+     */
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    private int getIndex(String id) {
+        Integer index = indexes.get(id);
+        if (index == null) {
+            throw new IllegalArgumentException("The add-on does not exist: " + id);
+        }
+        return index;
+    }
+
+    private List<String> toIds(int[] values, int start, int end) {
+        List<String> result = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            result.add(ids[values[i]]);
+        }
+        return result;
+    }
+
+    private static boolean contains(int[] values, int start, int end, int value) {
+        for (int i = start; i < end; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Sorts the add-ons topologically (Kahn's algorithm), lowest index first. */
+    private int[] createReleaseOrder() {
+        int[] pendingDependencies = new int[ids.length];
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < ids.length; i++) {
+            pendingDependencies[i] = dependencyOffsets[i + 1] - dependencyOffsets[i];
+            if (pendingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        int[] order = new int[ids.length];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            order[count++] = current;
+            for (int e = dependentOffsets[current]; e < dependentOffsets[current + 1]; e++) {
+                if (--pendingDependencies[dependents[e]] == 0) {
+                    ready.add(dependents[e]);
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    /**
+     * Finds the strongly connected components (Tarjan's algorithm) with more than one add-on, or
+     * with an add-on that depends on itself.
+     */
+    private List<List<String>> findCycles() {
+        int count = ids.length;
+        int[] lowLinks = new int[count];
+        int[] visitIndexes = new int[count];
+        Arrays.fill(visitIndexes, -1);
+        boolean[] onStack = new boolean[count];
+        int[] stack = new int[count];
+        int stackSize = 0;
+        int[] callStack = new int[count];
+        int[] edgePositions = new int[count];
+        int visitIndex = 0;
+
+        List<List<String>> found = new ArrayList<>();
+        for (int root = 0; root < count; root++) {
+            if (visitIndexes[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[depth] = root;
+            edgePositions[root] = dependencyOffsets[root];
+            visitIndexes[root] = lowLinks[root] = visitIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = callStack[depth];
+                if (edgePositions[node] < dependencyOffsets[node + 1]) {
+                    int dependency = dependencies[edgePositions[node]++];
+                    if (visitIndexes[dependency] == -1) {
+                        callStack[++depth] = dependency;
+                        edgePositions[dependency] = dependencyOffsets[dependency];
+                        visitIndexes[dependency] = lowLinks[dependency] = visitIndex++;
+                        stack[stackSize++] = dependency;
+                        onStack[dependency] = true;
+                    } else if (onStack[dependency]) {
+                        lowLinks[node] = Math.min(lowLinks[node], visitIndexes[dependency]);
+                    }
+                    continue;
+                }
+
+                if (lowLinks[node] == visitIndexes[node]) {
+                    List<String> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component.add(ids[member]);
+                    } while (member != node);
+                    if (component.size() > 1 || dependsOnItself(node)) {
+                        component.sort(null);
+                        found.add(List.copyOf(component));
+                    }
+                }
+                if (--depth >= 0) {
+                    int parent = callStack[depth];
+                    lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+                }
+            }
+        }
+        found.sort(Comparator.comparing(component -> component.get(0)));
+        return List.copyOf(found);
+    }
+
+    private boolean dependsOnItself(int index) {
+        return contains(
+                dependencies, dependencyOffsets[index], dependencyOffsets[index + 1], index);
+    }
+}
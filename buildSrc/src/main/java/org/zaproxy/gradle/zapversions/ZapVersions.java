@@ -0,0 +1,301 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * An immutable, in-memory, {@code ZapVersions.xml} file.
+ *
+ * <p>The file is read in a single StAX pass, the add-ons are indexed by ID. Values that repeat
+ * across add-ons (e.g. author, repo) are shared.
+ */
+public final class ZapVersions {
+
+    private final Core core;
+    private final List<AddOn> addOns;
+    private final Map<String, AddOn> addOnsById;
+
+    ZapVersions(Core core, Map<String, AddOn> addOnsById) {
+        this.core = core;
+        this.addOns = List.copyOf(addOnsById.values());
+        this.addOnsById = Collections.unmodifiableMap(addOnsById);
+    }
+
+    /**
+     * Gets the core release.
+     *
+     * @return the core release, or {@code null} if the file has none.
+     */
+    public Core getCore() {
+        return core;
+    }
+
+    /**
+     * Gets the add-ons, in the order they are declared in the file.
+     *
+     * @return the add-ons, never {@code null}.
+     */
+    public List<AddOn> getAddOns() {
+        return addOns;
+    }
+
+    /**
+     * Gets the add-on with the given ID.
+     *
+     * @param id the ID of the add-on.
+     * @return the add-on, or {@code null} if not present.
+     */
+    public AddOn getAddOn(String id) {
+        return addOnsById.get(id);
+    }
+
+    /**
+     * Gets the add-on with the given ID, which must be present.
+     *
+     * @param id the ID of the add-on.
+     * @return the add-on, never {@code null}.
+     * @throws IllegalArgumentException if the add-on is not present.
+     */
+    public AddOn requireAddOn(String id) {
+        AddOn addOn = getAddOn(id);
+        if (addOn == null) {
+            throw new IllegalArgumentException("The add-on is not in the ZapVersions: " + id);
+        }
+        return addOn;
+    }
+
+    /**
+     * Reads the given {@code ZapVersions.xml} file.
+     *
+     * @param file the file to read.
+     * @return the contents of the file.
+     * @throws IOException if an error occurred while reading the file or if it's not valid.
+     */
+    public static ZapVersions read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        } catch (IOException e) {
+            throw new IOException("Failed to read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a {@code ZapVersions.xml} from the given input stream.
+     *
+     * @param in the input stream.
+     * @return the contents read.
+     * @throws IOException if an error occurred while reading or if the contents are not valid.
+     */
+    public static ZapVersions read(InputStream in) throws IOException {
+        try {
+            XMLStreamReader reader = ZapVersionsXmlReader.createReader(in);
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static ZapVersions read(XMLStreamReader reader) throws XMLStreamException {
+        Interner interner = new Interner();
+        Core core = null;
+        List<String> ids = new ArrayList<>();
+        Map<String, ZapVersionsElement> addOnsData = new HashMap<>();
+        for (int event = reader.next();
+                event != XMLStreamConstants.END_ELEMENT;
+                event = reader.next()) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            String name = reader.getLocalName();
+            if (ZapVersionsRewriter.ADD_ON_ELEMENT.equals(name)) {
+                ids.add(reader.getElementText().trim());
+            } else if (name.startsWith(ZapVersionsRewriter.ADD_ON_NODE_PREFIX)) {
+                addOnsData.put(
+                        name.substring(ZapVersionsRewriter.ADD_ON_NODE_PREFIX.length()),
+                        ZapVersionsElement.read(reader));
+            } else if (ZapVersionsRewriter.CORE_ELEMENT.equals(name) && core == null) {
+                core = Core.from(ZapVersionsElement.read(reader));
+            } else {
+                ZapVersionsXmlReader.skipElement(reader);
+            }
+        }
+
+        Map<String, AddOn> addOns = new LinkedHashMap<>();
+        for (String id : ids) {
+            ZapVersionsElement data = addOnsData.get(id);
+            if (data != null) {
+                addOns.putIfAbsent(id, AddOn.from(interner.intern(id), data, interner));
+            }
+        }
+        return new ZapVersions(core, addOns);
+    }
+
+    private static long toLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    /** The core release. */
+    public record Core(
+            String version,
+            String dailyVersion,
+            Release daily,
+            Release windows32,
+            Release windows,
+            Release linux,
+            Release mac,
+            String relnotes,
+            String relnotesUrl) {
+
+        private static Core from(ZapVersionsElement element) {
+            return new Core(
+                    element.getValue("version"),
+                    element.getValue("daily-version"),
+                    Release.from(element.getChild("daily")),
+                    Release.from(element.getChild("windows32")),
+                    Release.from(element.getChild("windows")),
+                    Release.from(element.getChild("linux")),
+                    Release.from(element.getChild("mac")),
+                    element.getValue("relnotes"),
+                    element.getValue("relnotes-url"));
+        }
+    }
+
+    /** A release file of the core. */
+    public record Release(String url, String file, String hash, long size) {
+
+        private static Release from(ZapVersionsElement element) {
+            if (element == null) {
+                return null;
+            }
+            return new Release(
+                    element.getValue("url"),
+                    element.getValue("file"),
+                    element.getValue("hash"),
+                    toLong(element.getValue("size")));
+        }
+    }
+
+    /** An add-on. */
+    public record AddOn(
+            String id,
+            String name,
+            String description,
+            String author,
+            String version,
+            String semVer,
+            String file,
+            String status,
+            String changes,
+            String url,
+            String hash,
+            String info,
+            String repo,
+            String date,
+            long size,
+            String notBeforeVersion,
+            String notFromVersion,
+            String javaVersion,
+            List<Dependency> dependencies) {
+
+        public AddOn {
+            dependencies = List.copyOf(dependencies);
+        }
+
+        private static AddOn from(String id, ZapVersionsElement element, Interner interner) {
+            List<Dependency> dependencies = new ArrayList<>();
+            ZapVersionsElement addOns = getChild(element, "dependencies", "addons");
+            if (addOns != null) {
+                for (ZapVersionsElement dependency : addOns.getChildren()) {
+                    dependencies.add(
+                            new Dependency(
+                                    interner.intern(dependency.getValue("id")),
+                                    interner.intern(dependency.getValue("version")),
+                                    interner.intern(dependency.getValue("semver"))));
+                }
+            }
+
+            return new AddOn(
+                    id,
+                    element.getValue("name"),
+                    element.getValue("description"),
+                    interner.intern(element.getValue("author")),
+                    element.getValue("version"),
+                    element.getValue("semver"),
+                    element.getValue("file"),
+                    interner.intern(element.getValue("status")),
+                    element.getValue("changes"),
+                    element.getValue("url"),
+                    element.getValue("hash"),
+                    element.getValue("info"),
+                    interner.intern(element.getValue("repo")),
+                    interner.intern(element.getValue("date")),
+                    toLong(element.getValue("size")),
+                    interner.intern(element.getValue("not-before-version")),
+                    interner.intern(element.getValue("not-from-version")),
+                    interner.intern(element.getValue("dependencies.javaversion")),
+                    dependencies);
+        }
+
+        private static ZapVersionsElement getChild(ZapVersionsElement element, String... path) {
+            for (String name : path) {
+                if (element == null) {
+                    return null;
+                }
+                element = element.getChild(name);
+            }
+            return element;
+        }
+    }
+
+    /** A dependency of an add-on on another add-on. */
+    public record Dependency(String id, String version, String semVer) {}
+
+    /** Shares equal strings, local to a read to not retain them afterwards. */
+    private static final class Interner {
+
+        private final Map<String, String> strings = new HashMap<>();
+
+        String intern(String value) {
+            if (value == null) {
+                return null;
+            }
+            String existing = strings.putIfAbsent(value, value);
+            return existing != null ? existing : value;
+        }
+    }
+}
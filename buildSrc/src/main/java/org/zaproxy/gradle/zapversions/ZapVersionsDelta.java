@@ -0,0 +1,309 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * The changes between two revisions of a {@code ZapVersions.xml} file.
+ *
+ * <p>The delta is written as a {@code ZapVersions.xml} file with just the {@code core}, if changed,
+ * and the add-ons added or changed, preceded by a {@code delta} element with the SHA-256 of the
+ * base and target revisions, the IDs of the add-ons added, changed, and removed, and whether or not
+ * the {@code core} was removed:
+ *
+ * <pre>{@code
+ * <ZAP>
+ *     <delta>
+ *         <from>...</from>
+ *         <to>...</to>
+ *         <added>...</added>
+ *         <changed>...</changed>
+ *         <removed>...</removed>
+ *         <coreRemoved>true</coreRemoved>
+ *     </delta>
+ *     <core>...</core>
+ *     <addon>...</addon>
+ *     <addon_...>...</addon_...>
+ * </ZAP>
+ * }</pre>
+ */
+public final class ZapVersionsDelta {
+
+    static final String ROOT_ELEMENT = "ZAP";
+    static final String DELTA_ELEMENT = "delta";
+    static final String FROM_ELEMENT = "from";
+    static final String TO_ELEMENT = "to";
+    static final String ADDED_ELEMENT = "added";
+    static final String CHANGED_ELEMENT = "changed";
+    static final String REMOVED_ELEMENT = "removed";
+    static final String CORE_REMOVED_ELEMENT = "coreRemoved";
+
+    private static final int ROOT_DEPTH = 0;
+    private static final int ENTRY_DEPTH = 1;
+
+    private final String from;
+    private final String to;
+    private final ZapVersionsElement core;
+    private final boolean coreRemoved;
+    private final NavigableMap<String, ZapVersionsElement> added;
+    private final NavigableMap<String, ZapVersionsElement> changed;
+    private final NavigableSet<String> removed;
+
+    private ZapVersionsDelta(
+            String from, String to, ZapVersionsElement core, boolean coreRemoved) {
+        this.from = from;
+        this.to = to;
+        this.core = core;
+        this.coreRemoved = coreRemoved;
+        this.added = new TreeMap<>();
+        this.changed = new TreeMap<>();
+        this.removed = new TreeSet<>();
+    }
+
+    /**
+     * Gets the revision of the base file, the SHA-256 of its contents.
+     *
+     * @return the revision of the base file.
+     */
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the revision of the target file, the SHA-256 of its contents.
+     *
+     * @return the revision of the target file.
+     */
+    public String getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the {@code core} of the target file, if changed.
+     *
+     * @return the {@code core}, or {@code null} if not changed.
+     * @see #isCoreRemoved()
+     */
+    public ZapVersionsElement getCore() {
+        return core;
+    }
+
+    /**
+     * Tells whether or not the {@code core} was removed, present in the base file but not in the
+     * target file.
+     *
+     * @return {@code true} if the {@code core} was removed, {@code false} otherwise.
+     */
+    public boolean isCoreRemoved() {
+        return coreRemoved;
+    }
+
+    public NavigableSet<String> getAdded() {
+        return Collections.unmodifiableNavigableSet(added.navigableKeySet());
+    }
+
+    public NavigableSet<String> getChanged() {
+        return Collections.unmodifiableNavigableSet(changed.navigableKeySet());
+    }
+
+    public NavigableSet<String> getRemoved() {
+        return Collections.unmodifiableNavigableSet(removed);
+    }
+
+    /**
+     * Tells whether or not the delta has no changes.
+     *
+     * @return {@code true} if there are no changes, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return core == null
+                && !coreRemoved
+                && added.isEmpty()
+                && changed.isEmpty()
+                && removed.isEmpty();
+    }
+
+    /**
+     * Gets the revision of the given contents, the hex encoded SHA-256.
+     *
+     * @param contents the contents of the file.
+     * @return the revision.
+     */
+    public static String revision(byte[] contents) {
+        return DigestUtils.sha256Hex(contents);
+    }
+
+    /**
+     * Creates the delta between the given revisions of a {@code ZapVersions.xml} file.
+     *
+     * @param base the contents of the base revision.
+     * @param target the contents of the target revision.
+     * @return the delta.
+     * @throws IOException if an error occurred while reading the revisions.
+     */
+    public static ZapVersionsDelta create(byte[] base, byte[] target) throws IOException {
+        Entries baseEntries = Entries.read(base);
+        Entries targetEntries = Entries.read(target);
+
+        ZapVersionsElement core = targetEntries.core;
+        if (core != null && isSame(core, baseEntries.core)) {
+            core = null;
+        }
+
+        boolean coreRemoved = baseEntries.core != null && targetEntries.core == null;
+        ZapVersionsDelta delta =
+                new ZapVersionsDelta(revision(base), revision(target), core, coreRemoved);
+        targetEntries.addOns.forEach(
+                (id, data) -> {
+                    ZapVersionsElement baseData = baseEntries.addOns.get(id);
+                    if (baseData == null) {
+                        delta.added.put(id, data);
+                    } else if (!isSame(data, baseData)) {
+                        delta.changed.put(id, data);
+                    }
+                });
+        baseEntries.addOns.keySet().stream()
+                .filter(id -> !targetEntries.addOns.containsKey(id))
+                .forEach(delta.removed::add);
+        return delta;
+    }
+
+    private static boolean isSame(ZapVersionsElement a, ZapVersionsElement b) {
+        if (b == null || !a.getName().equals(b.getName()) || !a.getText().equals(b.getText())) {
+            return false;
+        }
+        List<ZapVersionsElement> childrenA = a.getChildren();
+        List<ZapVersionsElement> childrenB = b.getChildren();
+        if (childrenA.size() != childrenB.size()) {
+            return false;
+        }
+        for (int i = 0; i < childrenA.size(); i++) {
+            if (!isSame(childrenA.get(i), childrenB.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the delta to the given output stream.
+     *
+     * @param out the output stream.
+     * @throws IOException if an error occurred while writing.
+     */
+    public void write(OutputStream out) throws IOException {
+        ZapVersionsXmlWriter writer = new ZapVersionsXmlWriter(out);
+        writer.writeDeclaration();
+        writer.writeStartElement(ROOT_ELEMENT, ROOT_DEPTH);
+
+        writer.writeStartElement(DELTA_ELEMENT, ENTRY_DEPTH);
+        writer.writeLeafElement(FROM_ELEMENT, from, ENTRY_DEPTH + 1);
+        writer.writeLeafElement(TO_ELEMENT, to, ENTRY_DEPTH + 1);
+        writeIds(writer, ADDED_ELEMENT, added.keySet());
+        writeIds(writer, CHANGED_ELEMENT, changed.keySet());
+        writeIds(writer, REMOVED_ELEMENT, removed);
+        if (coreRemoved) {
+            writer.writeLeafElement(CORE_REMOVED_ELEMENT, "true", ENTRY_DEPTH + 1);
+        }
+        writer.writeEndElement(DELTA_ELEMENT, ENTRY_DEPTH);
+
+        if (core != null) {
+            writer.writeElement(core, ENTRY_DEPTH);
+        }
+
+        NavigableMap<String, ZapVersionsElement> addOns = new TreeMap<>(added);
+        addOns.putAll(changed);
+        for (String id : addOns.keySet()) {
+            writer.writeLeafElement(ZapVersionsRewriter.ADD_ON_ELEMENT, id, ENTRY_DEPTH);
+        }
+        for (ZapVersionsElement data : addOns.values()) {
+            writer.writeElement(data, ENTRY_DEPTH);
+        }
+
+        writer.writeEndElement(ROOT_ELEMENT, ROOT_DEPTH);
+        writer.flush();
+    }
+
+    private static void writeIds(ZapVersionsXmlWriter writer, String name, Iterable<String> ids)
+            throws IOException {
+        for (String id : ids) {
+            writer.writeLeafElement(name, id, ENTRY_DEPTH + 1);
+        }
+    }
+
+    /** The {@code core} and {@code addon_*} elements of a file. */
+    private static final class Entries {
+
+        private ZapVersionsElement core;
+        private final Map<String, ZapVersionsElement> addOns = new HashMap<>();
+
+        static Entries read(byte[] contents) throws IOException {
+            Entries entries = new Entries();
+            try {
+                XMLStreamReader reader =
+                        ZapVersionsXmlReader.createReader(new ByteArrayInputStream(contents));
+                try {
+                    entries.read(reader);
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            return entries;
+        }
+
+        private void read(XMLStreamReader reader) throws XMLStreamException {
+            for (int event = reader.next();
+                    event != XMLStreamConstants.END_ELEMENT;
+                    event = reader.next()) {
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                String name = reader.getLocalName();
+                if (name.startsWith(ZapVersionsRewriter.ADD_ON_NODE_PREFIX)) {
+                    addOns.put(
+                            name.substring(ZapVersionsRewriter.ADD_ON_NODE_PREFIX.length()),
+                            ZapVersionsElement.read(reader));
+                } else if (ZapVersionsRewriter.CORE_ELEMENT.equals(name) && core == null) {
+                    core = ZapVersionsElement.read(reader);
+                } else {
+                    ZapVersionsXmlReader.skipElement(reader);
+                }
+            }
+        }
+    }
+}
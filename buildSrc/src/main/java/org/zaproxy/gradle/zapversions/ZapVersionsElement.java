@@ -0,0 +1,180 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.configuration.HierarchicalConfiguration;
+import org.apache.commons.configuration.tree.ConfigurationNode;
+
+/**
+ * A lightweight element of a {@code ZapVersions.xml} file.
+ *
+ * <p>Only the elements being changed are materialised into instances of this class, the rest of the
+ * file is streamed.
+ */
+public class ZapVersionsElement {
+
+    private static final String PATH_SEPARATOR = "\\.";
+
+    private final String name;
+    private String text;
+    private final List<ZapVersionsElement> children;
+
+    public ZapVersionsElement(String name) {
+        this(name, "");
+    }
+
+    public ZapVersionsElement(String name, String text) {
+        this.name = Objects.requireNonNull(name);
+        this.text = Objects.requireNonNull(text);
+        this.children = new ArrayList<>();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = Objects.requireNonNull(text);
+    }
+
+    public List<ZapVersionsElement> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    public boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    /**
+     * Gets the first child with the given name.
+     *
+     * @param name the name of the child.
+     * @return the child, or {@code null} if none.
+     */
+    public ZapVersionsElement getChild(String name) {
+        for (ZapVersionsElement child : children) {
+            if (child.name.equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    public ZapVersionsElement addChild(ZapVersionsElement child) {
+        children.add(Objects.requireNonNull(child));
+        return this;
+    }
+
+    /**
+     * Gets the text of the element at the given path, relative to this element.
+     *
+     * @param path the path, the element names separated with dots (e.g. {@code daily.hash}).
+     * @return the text, or {@code null} if the element does not exist.
+     */
+    public String getValue(String path) {
+        ZapVersionsElement element = this;
+        for (String childName : path.split(PATH_SEPARATOR)) {
+            element = element.getChild(childName);
+            if (element == null) {
+                return null;
+            }
+        }
+        return element.text;
+    }
+
+    /**
+     * Sets the text of the element at the given path, relative to this element.
+     *
+     * <p>Missing elements are appended, as done by {@code XMLConfiguration.setProperty}.
+     *
+     * @param path the path, the element names separated with dots (e.g. {@code daily.hash}).
+     * @param value the new text.
+     */
+    public void setValue(String path, String value) {
+        ZapVersionsElement element = this;
+        for (String childName : path.split(PATH_SEPARATOR)) {
+            ZapVersionsElement child = element.getChild(childName);
+            if (child == null) {
+                child = new ZapVersionsElement(childName);
+                element.addChild(child);
+            }
+            element = child;
+        }
+        element.setText(value);
+    }
+
+    /**
+     * Creates an element from the given configuration, using its children as the children of the
+     * element.
+     *
+     * @param name the name of the element.
+     * @param configuration the configuration with the children.
+     * @return the new element.
+     */
+    public static ZapVersionsElement from(String name, HierarchicalConfiguration configuration) {
+        ZapVersionsElement element = new ZapVersionsElement(name);
+        configuration.getRootNode().getChildren().forEach(e -> element.addChild(from(e)));
+        return element;
+    }
+
+    private static ZapVersionsElement from(ConfigurationNode node) {
+        Object value = node.getValue();
+        ZapVersionsElement element =
+                new ZapVersionsElement(node.getName(), value == null ? "" : value.toString());
+        node.getChildren().forEach(e -> element.addChild(from(e)));
+        return element;
+    }
+
+    /**
+     * Reads the element at the current position of the given reader.
+     *
+     * <p>The reader is expected to be positioned at the start of the element and is left at its
+     * end.
+     */
+    static ZapVersionsElement read(XMLStreamReader reader) throws XMLStreamException {
+        ZapVersionsXmlReader.validateNoAttributes(reader);
+        ZapVersionsElement element = new ZapVersionsElement(reader.getLocalName());
+        StringBuilder text = new StringBuilder();
+        for (int event = reader.next();
+                event != XMLStreamConstants.END_ELEMENT;
+                event = reader.next()) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element.addChild(read(reader));
+            } else if (ZapVersionsXmlReader.isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        if (!element.hasChildren()) {
+            element.setText(text.toString().trim());
+        }
+        return element;
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An ordered index of the top level elements of a {@code ZapVersions.xml} file.
+ *
+ * <p>The index is built with a single scan of the bytes, without parsing the contents of the
+ * elements, it records the byte offsets of each element and keeps the add-ons sorted by ID, which
+ * allows to replace or insert add-ons in their sorted position without touching the other elements.
+ *
+ * <p>The span of an element starts right after the previous element (or the start tag of the root
+ * element), such that it includes the whitespace that precedes the element, and ends after its end
+ * tag.
+ */
+final class ZapVersionsIndex {
+
+    private final int contentStart;
+    private final int contentEnd;
+    private final List<Entry> entries;
+    private final Entry core;
+    private final NavigableMap<String, AddOn> addOns;
+    private final Map<String, List<Entry>> addOnsData;
+    private final boolean addOnsSorted;
+
+    private ZapVersionsIndex(int contentStart, int contentEnd, List<Entry> entries) {
+        this.contentStart = contentStart;
+        this.contentEnd = contentEnd;
+        this.entries = Collections.unmodifiableList(entries);
+
+        Entry coreEntry = null;
+        addOns = new TreeMap<>();
+        addOnsData = new HashMap<>();
+        boolean sorted = true;
+        String previousId = null;
+        for (Entry entry : entries) {
+            String name = entry.getName();
+            if (ZapVersionsRewriter.CORE_ELEMENT.equals(name)) {
+                if (coreEntry == null) {
+                    coreEntry = entry;
+                }
+            } else if (ZapVersionsRewriter.ADD_ON_ELEMENT.equals(name)) {
+                String id = entry.getText();
+                if (previousId != null && previousId.compareTo(id) >= 0) {
+                    sorted = false;
+                }
+                previousId = id;
+                addOns.putIfAbsent(id, new AddOn(id, entry));
+            } else if (name.startsWith(ZapVersionsRewriter.ADD_ON_NODE_PREFIX)) {
+                addOnsData
+                        .computeIfAbsent(
+                                name.substring(ZapVersionsRewriter.ADD_ON_NODE_PREFIX.length()),
+                                k -> new ArrayList<>())
+                        .add(entry);
+            }
+        }
+        core = coreEntry;
+        addOnsSorted = sorted;
+    }
+
+    /** Gets the offset right after the start tag of the root element, or -1 if empty. */
+    int getContentStart() {
+        return contentStart;
+    }
+
+    /** Gets the offset right after the last top level element. */
+    int getContentEnd() {
+        return contentEnd;
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** Gets the {@code core} element, might be {@code null}. */
+    Entry getCore() {
+        return core;
+    }
+
+    /** Gets the add-ons, sorted by ID. */
+    NavigableMap<String, AddOn> getAddOns() {
+        return Collections.unmodifiableNavigableMap(addOns);
+    }
+
+    /**
+     * Gets the data elements ({@code addon_<id>}) of the add-on with the given ID.
+     *
+     * @param addOnId the ID of the add-on.
+     * @return the data elements, usually just one, never {@code null}.
+     */
+    List<Entry> getAddOnData(String addOnId) {
+        return addOnsData.getOrDefault(addOnId, List.of());
+    }
+
+    /**
+     * Tells whether or not the add-ons are sorted by ID in the file, if not the index can't be used
+     * to insert add-ons in sorted position.
+     */
+    boolean isAddOnsSorted() {
+        return addOnsSorted;
+    }
+
+    /**
+     * Tells whether or not the file can be changed through the offsets of the index, that is, the
+     * root element is not empty ({@code <ZAP/>}).
+     */
+    boolean isEditable() {
+        return contentStart != -1;
+    }
+
+    /**
+     * Gets the offset where a new add-on with the given ID should be inserted.
+     *
+     * @param addOnId the ID of the add-on, not present in the index.
+     * @return the offset.
+     */
+    int getInsertionOffset(String addOnId) {
+        Map.Entry<String, AddOn> next = addOns.higherEntry(addOnId);
+        if (next != null) {
+            return next.getValue().getEntry().getStart();
+        }
+        Map.Entry<String, AddOn> last = addOns.lastEntry();
+        if (last == null) {
+            return contentEnd;
+        }
+        int offset = last.getValue().getEntry().getEnd();
+        for (Entry data : getAddOnData(last.getKey())) {
+            offset = Math.max(offset, data.getEnd());
+        }
+        return offset;
+    }
+
+    /**
+     * Builds the index of the given contents.
+     *
+     * @param contents the contents of the {@code ZapVersions.xml} file, from the current position
+     *     to the limit. The position is not changed.
+     * @return the index.
+     * @throws IOException if the contents are not well-formed.
+     */
+    static ZapVersionsIndex build(ByteBuffer contents) throws IOException {
+        return new Scanner(contents.duplicate()).scan();
+    }
+
+    /** A top level element. */
+    static final class Entry {
+
+        private final String name;
+        private final int start;
+        private final int tagStart;
+        private final int end;
+        private final String text;
+
+        Entry(String name, int start, int tagStart, int end, String text) {
+            this.name = name;
+            this.start = start;
+            this.tagStart = tagStart;
+            this.end = end;
+            this.text = text;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /** Gets the offset where the span of the element starts, including preceding whitespace. */
+        int getStart() {
+            return start;
+        }
+
+        /** Gets the offset of the start tag of the element. */
+        int getTagStart() {
+            return tagStart;
+        }
+
+        /** Gets the offset right after the end tag of the element. */
+        int getEnd() {
+            return end;
+        }
+
+        /** Gets the text of the element, if it has no child elements, otherwise {@code null}. */
+        String getText() {
+            return text;
+        }
+    }
+
+    /** The {@code addon} element of an add-on. */
+    static final class AddOn {
+
+        private final String id;
+        private final Entry entry;
+
+        AddOn(String id, Entry entry) {
+            this.id = id;
+            this.entry = entry;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        Entry getEntry() {
+            return entry;
+        }
+    }
+
+    private static final class Scanner {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int pos;
+
+        Scanner(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.pos = buffer.position();
+        }
+
+        ZapVersionsIndex scan() throws IOException {
+            List<Entry> entries = new ArrayList<>();
+            int depth = 0;
+            int contentStart = -1;
+            int contentEnd = -1;
+            int entryStart = -1;
+            int entryTagStart = -1;
+            int entryTagEnd = -1;
+            String entryName = null;
+            boolean entryHasChildren = false;
+
+            while ((pos = indexOf('<', pos)) != -1) {
+                if (skipMarkup()) {
+                    continue;
+                }
+
+                int tagStart = pos;
+                int tagEnd = findTagEnd(tagStart);
+                boolean endTag = byteAt(tagStart + 1) == '/';
+                boolean emptyElement = !endTag && byteAt(tagEnd - 1) == '/';
+                pos = tagEnd + 1;
+
+                if (endTag) {
+                    depth--;
+                    if (depth == 1) {
+                        String text =
+                                entryHasChildren ? null : decodeText(entryTagEnd + 1, tagStart);
+                        entries.add(new Entry(entryName, entryStart, entryTagStart, pos, text));
+                        contentEnd = pos;
+                    } else if (depth == 0) {
+                        return new ZapVersionsIndex(
+                                contentStart,
+                                contentEnd == -1 ? contentStart : contentEnd,
+                                entries);
+                    }
+                    continue;
+                }
+
+                if (depth == 0) {
+                    if (emptyElement) {
+                        return new ZapVersionsIndex(-1, -1, entries);
+                    }
+                    contentStart = pos;
+                } else if (depth == 1) {
+                    entryStart = contentEnd == -1 ? contentStart : contentEnd;
+                    entryTagStart = tagStart;
+                    entryTagEnd = tagEnd;
+                    entryName = readName(tagStart + 1);
+                    entryHasChildren = false;
+                    if (emptyElement) {
+                        entries.add(new Entry(entryName, entryStart, tagStart, pos, ""));
+                        contentEnd = pos;
+                        continue;
+                    }
+                } else {
+                    entryHasChildren = true;
+                }
+
+                if (!emptyElement) {
+                    depth++;
+                }
+            }
+            throw new IOException("Malformed ZapVersions, no end tag for the root element.");
+        }
+
+        private boolean skipMarkup() throws IOException {
+            if (startsWith("<?")) {
+                pos = indexOf("?>", pos) + 2;
+            } else if (startsWith("<!--")) {
+                pos = indexOf("-->", pos) + 3;
+            } else if (startsWith("<![CDATA[")) {
+                pos = indexOf("]]>", pos) + 3;
+            } else if (startsWith("<!")) {
+                pos = findTagEnd(pos) + 1;
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private int findTagEnd(int from) throws IOException {
+            byte quote = 0;
+            for (int i = from + 1; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (quote != 0) {
+                    if (b == quote) {
+                        quote = 0;
+                    }
+                } else if (b == '"' || b == '\'') {
+                    quote = b;
+                } else if (b == '>') {
+                    return i;
+                }
+            }
+            throw new IOException("Malformed ZapVersions, unterminated tag at offset " + from);
+        }
+
+        private String readName(int from) {
+            int end = from;
+            while (end < limit) {
+                byte b = buffer.get(end);
+                if (b == '>' || b == '/' || b <= ' ') {
+                    break;
+                }
+                end++;
+            }
+            return decode(from, end);
+        }
+
+        private String decodeText(int from, int to) {
+            String text = decode(from, to).trim();
+            if (text.indexOf('&') == -1) {
+                return text;
+            }
+            return text.replace("&lt;", "<")
+                    .replace("&gt;", ">")
+                    .replace("&quot;", "\"")
+                    .replace("&apos;", "'")
+                    .replace("&amp;", "&");
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private byte byteAt(int idx) {
+            return idx < limit ? buffer.get(idx) : 0;
+        }
+
+        private boolean startsWith(String str) {
+            if (pos + str.length() > limit) {
+                return false;
+            }
+            for (int i = 0; i < str.length(); i++) {
+                if (buffer.get(pos + i) != str.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOf(char c, int from) {
+            for (int i = from; i < limit; i++) {
+                if (buffer.get(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int indexOf(String str, int from) throws IOException {
+            for (int i = from; i <= limit - str.length(); i++) {
+                boolean found = true;
+                for (int j = 0; j < str.length(); j++) {
+                    if (buffer.get(i + j) != str.charAt(j)) {
+                        found = false;
+                        break;
+                    }
+                }
+                if (found) {
+                    return i;
+                }
+            }
+            throw new IOException(
+                    "Malformed ZapVersions, expected " + str + " after offset " + from);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Minifies {@code ZapVersions.xml} files, removing the whitespace between the elements.
+ *
+ * <p>The text of the elements is kept as is, the minified file has the same data.
+ */
+public final class ZapVersionsMinifier {
+
+    private ZapVersionsMinifier() {}
+
+    /**
+     * Minifies the {@code ZapVersions.xml} read from the given input stream into the given output
+     * stream.
+     *
+     * @param in the input stream.
+     * @param out the output stream.
+     * @throws IOException if an error occurred while reading or writing.
+     */
+    public static void minify(InputStream in, OutputStream out) throws IOException {
+        ZapVersionsXmlWriter writer = ZapVersionsXmlWriter.minified(out);
+        try {
+            XMLStreamReader reader = ZapVersionsXmlReader.createReader(in);
+            try {
+                String rootName = reader.getLocalName();
+                writer.writeDeclaration();
+                writer.writeStartElement(rootName, 0);
+                for (int event = reader.next();
+                        event != XMLStreamConstants.END_ELEMENT;
+                        event = reader.next()) {
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        ZapVersionsXmlReader.copyElement(reader, writer, 1);
+                    }
+                }
+                writer.writeEndElement(rootName, 0);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        writer.flush();
+    }
+}
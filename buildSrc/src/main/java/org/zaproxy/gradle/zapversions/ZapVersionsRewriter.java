@@ -0,0 +1,449 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.zaproxy.gradle.FileUpdater;
+
+/**
+ * Rewrites {@code ZapVersions.xml} files, either {@link #patch(Path, FileUpdater) in place} or
+ * {@link #rewrite(Path) into memory}.
+ *
+ * <p>Files are changed in place through a {@link ZapVersionsIndex}: the elements being changed are
+ * replaced, new add-ons are inserted in their sorted position, and all other bytes are kept as they
+ * are. Files that can't be indexed that way (e.g. add-ons not sorted) are streamed with StAX, in
+ * which case the {@code core} and {@code addon_*} elements are copied as they are read. In both
+ * cases only the elements being changed are materialised and the output has the same layout as the
+ * one produced by {@link org.zaproxy.gradle.CustomXmlConfiguration CustomXmlConfiguration}.
+ */
+public class ZapVersionsRewriter {
+
+    public static final String CORE_ELEMENT = "core";
+    public static final String ADD_ON_ELEMENT = "addon";
+    public static final String ADD_ON_NODE_PREFIX = "addon_";
+
+    private static final int ROOT_DEPTH = 0;
+    private static final int ENTRY_DEPTH = 1;
+
+    private final List<Consumer<ZapVersionsElement>> coreUpdaters;
+    private final NavigableMap<String, ZapVersionsElement> addOns;
+
+    public ZapVersionsRewriter() {
+        coreUpdaters = new ArrayList<>();
+        addOns = new TreeMap<>();
+    }
+
+    /**
+     * Adds an updater of the {@code core} element.
+     *
+     * @param updater the updater.
+     * @return this rewriter, for chaining.
+     */
+    public ZapVersionsRewriter updateCore(Consumer<ZapVersionsElement> updater) {
+        coreUpdaters.add(Objects.requireNonNull(updater));
+        return this;
+    }
+
+    /**
+     * Adds or replaces an add-on.
+     *
+     * @param addOnId the ID of the add-on.
+     * @param data the data of the add-on, the element is written as {@code addon_<id>}.
+     * @return this rewriter, for chaining.
+     */
+    public ZapVersionsRewriter putAddOn(String addOnId, ZapVersionsElement data) {
+        addOns.put(Objects.requireNonNull(addOnId), Objects.requireNonNull(data));
+        return this;
+    }
+
+    /**
+     * Rewrites the given file, returning the new contents.
+     *
+     * @param file the {@code ZapVersions.xml} file.
+     * @return the new contents of the file.
+     * @throws IOException if an error occurred while reading or rewriting the file.
+     */
+    public byte[] rewrite(Path file) throws IOException {
+        try {
+            byte[] contents = Files.readAllBytes(file);
+            ZapVersionsIndex index = ZapVersionsIndex.build(ByteBuffer.wrap(contents));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(contents.length);
+            if (index.isEditable()) {
+                applyEdits(contents, createEdits(contents, index), out);
+            } else {
+                rewrite(new ByteArrayInputStream(contents), out);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IOException("Failed to rewrite " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Patches the given file, writing only the elements being changed.
+     *
+     * <p>The bytes not changed are copied from the original file with {@link
+     * FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) transferTo}. The
+     * file is written through the given {@code FileUpdater}, it's not written if the contents are
+     * the same.
+     *
+     * @param file the {@code ZapVersions.xml} file.
+     * @param fileUpdater the file updater used to write the file.
+     * @return {@code true} if the file was written, {@code false} otherwise.
+     * @throws IOException if an error occurred while reading or patching the file.
+     */
+    public boolean patch(Path file, FileUpdater fileUpdater) throws IOException {
+        try {
+            byte[] contents = Files.readAllBytes(file);
+            ZapVersionsIndex index = ZapVersionsIndex.build(ByteBuffer.wrap(contents));
+            if (!index.isEditable()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(contents.length);
+                rewrite(new ByteArrayInputStream(contents), out);
+                return fileUpdater.write(file, out.toByteArray());
+            }
+
+            List<Edit> edits = createEdits(contents, index);
+            if (edits.isEmpty()) {
+                return fileUpdater.write(file, contents);
+            }
+
+            return fileUpdater.write(
+                    file,
+                    target -> {
+                        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                            applyEdits(source, contents.length, edits, target);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new IOException("Failed to patch " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private List<Edit> createEdits(byte[] contents, ZapVersionsIndex index) throws IOException {
+        List<Edit> edits = new ArrayList<>();
+        if (!addOns.isEmpty() && !index.isAddOnsSorted()) {
+            createSortingEdits(contents, index, edits);
+        } else {
+            createAddOnEdits(index, edits);
+        }
+
+        if (!coreUpdaters.isEmpty()) {
+            ZapVersionsIndex.Entry coreEntry = index.getCore();
+            ZapVersionsElement core;
+            int start;
+            int end;
+            if (coreEntry == null) {
+                core = new ZapVersionsElement(CORE_ELEMENT);
+                start = index.getContentEnd();
+                end = start;
+            } else {
+                core = readElement(contents, coreEntry);
+                start = coreEntry.getStart();
+                end = coreEntry.getEnd();
+            }
+            edits.add(new Edit(start, end, serialize(writer -> writeCore(writer, core))));
+        }
+
+        // Stable sort, the insertions at the same offset are kept in the order they were created.
+        edits.sort(Comparator.comparingInt(Edit::getStart).thenComparingInt(Edit::getEnd));
+        return edits;
+    }
+
+    private void createAddOnEdits(ZapVersionsIndex index, List<Edit> edits) throws IOException {
+        for (Map.Entry<String, ZapVersionsElement> entry : addOns.entrySet()) {
+            String addOnId = entry.getKey();
+            byte[] addOn = serialize(writer -> writeAddOn(writer, addOnId, entry.getValue()));
+            ZapVersionsIndex.AddOn existing = index.getAddOns().get(addOnId);
+            if (existing == null) {
+                int offset = index.getInsertionOffset(addOnId);
+                edits.add(new Edit(offset, offset, addOn));
+            } else {
+                ZapVersionsIndex.Entry addOnEntry = existing.getEntry();
+                edits.add(new Edit(addOnEntry.getStart(), addOnEntry.getEnd(), addOn));
+            }
+            for (ZapVersionsIndex.Entry data : index.getAddOnData(addOnId)) {
+                edits.add(new Edit(data.getStart(), data.getEnd(), new byte[0]));
+            }
+        }
+    }
+
+    /**
+     * Creates the edits that remove all the add-ons and insert them, with the new ones, sorted at
+     * the end of the file, as the add-ons in the file are not sorted.
+     */
+    private void createSortingEdits(byte[] contents, ZapVersionsIndex index, List<Edit> edits)
+            throws IOException {
+        Map<String, byte[]> sortedAddOns = new TreeMap<>();
+        for (ZapVersionsIndex.Entry entry : index.getEntries()) {
+            if (!ADD_ON_ELEMENT.equals(entry.getName())) {
+                continue;
+            }
+            String addOnId = entry.getText();
+            edits.add(new Edit(entry.getStart(), entry.getEnd(), new byte[0]));
+            if (sortedAddOns.containsKey(addOnId)) {
+                continue;
+            }
+            List<ZapVersionsIndex.Entry> data = index.getAddOnData(addOnId);
+            ByteArrayOutputStream addOn = new ByteArrayOutputStream();
+            addOn.write(contents, entry.getStart(), entry.getEnd() - entry.getStart());
+            for (ZapVersionsIndex.Entry dataEntry : data) {
+                addOn.write(
+                        contents, dataEntry.getStart(), dataEntry.getEnd() - dataEntry.getStart());
+                edits.add(new Edit(dataEntry.getStart(), dataEntry.getEnd(), new byte[0]));
+            }
+            sortedAddOns.put(addOnId, addOn.toByteArray());
+        }
+        for (Map.Entry<String, ZapVersionsElement> entry : addOns.entrySet()) {
+            String addOnId = entry.getKey();
+            if (!sortedAddOns.containsKey(addOnId)) {
+                for (ZapVersionsIndex.Entry data : index.getAddOnData(addOnId)) {
+                    edits.add(new Edit(data.getStart(), data.getEnd(), new byte[0]));
+                }
+            }
+            sortedAddOns.put(
+                    addOnId, serialize(writer -> writeAddOn(writer, addOnId, entry.getValue())));
+        }
+
+        ByteArrayOutputStream allAddOns = new ByteArrayOutputStream();
+        for (byte[] addOn : sortedAddOns.values()) {
+            allAddOns.write(addOn);
+        }
+        int offset = index.getContentEnd();
+        edits.add(new Edit(offset, offset, allAddOns.toByteArray()));
+    }
+
+    private static ZapVersionsElement readElement(byte[] contents, ZapVersionsIndex.Entry entry)
+            throws IOException {
+        InputStream in =
+                new ByteArrayInputStream(
+                        contents, entry.getTagStart(), entry.getEnd() - entry.getTagStart());
+        try {
+            XMLStreamReader reader = ZapVersionsXmlReader.createReader(in);
+            try {
+                return ZapVersionsElement.read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialises the elements written by the given action as the span of a top level element, that
+     * is, with the preceding new line and without the trailing one.
+     */
+    private static byte[] serialize(WriterAction action) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('\n');
+        ZapVersionsXmlWriter writer = new ZapVersionsXmlWriter(out);
+        action.write(writer);
+        writer.flush();
+        return Arrays.copyOf(out.toByteArray(), out.size() - 1);
+    }
+
+    private static void applyEdits(byte[] contents, List<Edit> edits, OutputStream out)
+            throws IOException {
+        int offset = 0;
+        for (Edit edit : edits) {
+            out.write(contents, offset, edit.getStart() - offset);
+            out.write(edit.getReplacement());
+            offset = edit.getEnd();
+        }
+        out.write(contents, offset, contents.length - offset);
+    }
+
+    private static void applyEdits(
+            FileChannel source, long size, List<Edit> edits, FileChannel target)
+            throws IOException {
+        long offset = 0;
+        for (Edit edit : edits) {
+            transfer(source, offset, edit.getStart() - offset, target);
+            ByteBuffer replacement = ByteBuffer.wrap(edit.getReplacement());
+            while (replacement.hasRemaining()) {
+                target.write(replacement);
+            }
+            offset = edit.getEnd();
+        }
+        transfer(source, offset, size - offset, target);
+    }
+
+    private static void transfer(FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long n = source.transferTo(position + transferred, count - transferred, target);
+            if (n <= 0) {
+                throw new IOException(
+                        "Unexpected end of file at offset " + (position + transferred));
+            }
+            transferred += n;
+        }
+    }
+
+    /**
+     * Rewrites the {@code ZapVersions.xml} read from the given input stream into the given output
+     * stream.
+     *
+     * @param in the input stream.
+     * @param out the output stream.
+     * @throws IOException if an error occurred while reading or writing.
+     */
+    public void rewrite(InputStream in, OutputStream out) throws IOException {
+        ZapVersionsXmlWriter writer = new ZapVersionsXmlWriter(out);
+        try {
+            XMLStreamReader reader = ZapVersionsXmlReader.createReader(in);
+            try {
+                rewrite(reader, writer);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        writer.flush();
+    }
+
+    private void rewrite(XMLStreamReader reader, ZapVersionsXmlWriter writer)
+            throws XMLStreamException, IOException {
+        String rootName = reader.getLocalName();
+        writer.writeDeclaration();
+        writer.writeStartElement(rootName, ROOT_DEPTH);
+
+        NavigableMap<String, ZapVersionsElement> pendingAddOns = new TreeMap<>(addOns);
+        boolean coreWritten = false;
+        for (int event = reader.next();
+                event != XMLStreamConstants.END_ELEMENT;
+                event = reader.next()) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            String name = reader.getLocalName();
+            if (ADD_ON_ELEMENT.equals(name)) {
+                String addOnId = reader.getElementText().trim();
+                writeAddOns(writer, pendingAddOns.headMap(addOnId, false));
+                ZapVersionsElement replacement = pendingAddOns.remove(addOnId);
+                if (replacement == null) {
+                    writer.writeLeafElement(ADD_ON_ELEMENT, addOnId, ENTRY_DEPTH);
+                } else {
+                    writeAddOn(writer, addOnId, replacement);
+                }
+            } else if (isReplacedAddOnData(name)) {
+                ZapVersionsXmlReader.skipElement(reader);
+            } else if (CORE_ELEMENT.equals(name) && !coreUpdaters.isEmpty()) {
+                writeCore(writer, ZapVersionsElement.read(reader));
+                coreWritten = true;
+            } else {
+                ZapVersionsXmlReader.copyElement(reader, writer, ENTRY_DEPTH);
+            }
+        }
+
+        writeAddOns(writer, pendingAddOns);
+        if (!coreWritten && !coreUpdaters.isEmpty()) {
+            writeCore(writer, new ZapVersionsElement(CORE_ELEMENT));
+        }
+        writer.writeEndElement(rootName, ROOT_DEPTH);
+    }
+
+    private boolean isReplacedAddOnData(String name) {
+        return name.startsWith(ADD_ON_NODE_PREFIX)
+                && addOns.containsKey(name.substring(ADD_ON_NODE_PREFIX.length()));
+    }
+
+    private void writeCore(ZapVersionsXmlWriter writer, ZapVersionsElement core)
+            throws IOException {
+        coreUpdaters.forEach(e -> e.accept(core));
+        writer.writeElement(core, ENTRY_DEPTH);
+    }
+
+    private static void writeAddOns(
+            ZapVersionsXmlWriter writer, Map<String, ZapVersionsElement> addOns)
+            throws IOException {
+        for (Iterator<Map.Entry<String, ZapVersionsElement>> it = addOns.entrySet().iterator();
+                it.hasNext(); ) {
+            Map.Entry<String, ZapVersionsElement> entry = it.next();
+            writeAddOn(writer, entry.getKey(), entry.getValue());
+            it.remove();
+        }
+    }
+
+    private static void writeAddOn(
+            ZapVersionsXmlWriter writer, String addOnId, ZapVersionsElement data)
+            throws IOException {
+        writer.writeLeafElement(ADD_ON_ELEMENT, addOnId, ENTRY_DEPTH);
+        ZapVersionsElement addOn = new ZapVersionsElement(ADD_ON_NODE_PREFIX + addOnId);
+        data.getChildren().forEach(addOn::addChild);
+        writer.writeElement(addOn, ENTRY_DEPTH);
+    }
+
+    private interface WriterAction {
+
+        void write(ZapVersionsXmlWriter writer) throws IOException;
+    }
+
+    /** A replacement of the bytes between two offsets, an insertion if the offsets are equal. */
+    private static final class Edit {
+
+        private final int start;
+        private final int end;
+        private final byte[] replacement;
+
+        Edit(int start, int end, byte[] replacement) {
+            this.start = start;
+            this.end = end;
+            this.replacement = replacement;
+        }
+
+        int getStart() {
+            return start;
+        }
+
+        int getEnd() {
+            return end;
+        }
+
+        byte[] getReplacement() {
+            return replacement;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.zaproxy.gradle.FileUpdater;
+
+/**
+ * A compact binary snapshot of a {@link ZapVersions}, to avoid parsing the XML file each time it's
+ * read.
+ *
+ * <p>The snapshot has a header, with the SHA-256 of the XML file it was created from, a string
+ * table (each distinct string stored once) followed by fixed-width records for the core, the
+ * add-ons, and their dependencies, which refer to the strings by index. The snapshot is loaded
+ * through a memory-mapped {@code FileChannel} and only used if the hash matches the current
+ * contents of the XML file.
+ */
+public final class ZapVersionsSnapshot {
+
+    private static final int MAGIC = 0x5A56534E; // ZVSN
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 4 + HASH_LENGTH + 4 + 4 + 4 + 4 + 1;
+
+    private static final int NULL_STRING = -1;
+    private static final int RELEASE_LENGTH = 1 + 3 * 4 + 8;
+    private static final int CORE_LENGTH = 4 * 4 + 5 * RELEASE_LENGTH;
+    private static final int ADD_ON_STRINGS = 17;
+    private static final int ADD_ON_LENGTH = ADD_ON_STRINGS * 4 + 8 + 4 + 4;
+    private static final int DEPENDENCY_LENGTH = 3 * 4;
+
+    private ZapVersionsSnapshot() {}
+
+    /**
+     * Reads the given {@code ZapVersions.xml} file, through its snapshot if up to date.
+     *
+     * <p>If the snapshot does not exist or was created from other contents the XML file is parsed
+     * and the snapshot (re)created. Failures to write the snapshot are ignored, it's just a cache.
+     *
+     * @param xmlFile the {@code ZapVersions.xml} file.
+     * @param snapshotFile the snapshot file.
+     * @return the contents of the XML file.
+     * @throws IOException if an error occurred while reading the XML file.
+     */
+    public static ZapVersions read(Path xmlFile, Path snapshotFile) throws IOException {
+        byte[] xml = Files.readAllBytes(xmlFile);
+        byte[] hash = DigestUtils.sha256(xml);
+        ZapVersions zapVersions = load(snapshotFile, hash);
+        if (zapVersions != null) {
+            return zapVersions;
+        }
+
+        try {
+            zapVersions = ZapVersions.read(new ByteArrayInputStream(xml));
+        } catch (IOException e) {
+            throw new IOException("Failed to read " + xmlFile + ": " + e.getMessage(), e);
+        }
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            new FileUpdater().write(snapshotFile, create(zapVersions, hash));
+        } catch (IOException e) {
+            // Just a cache, it will be created the next time.
+        }
+        return zapVersions;
+    }
+
+    /**
+     * Loads the given snapshot.
+     *
+     * @param snapshotFile the snapshot file.
+     * @param expectedHash the SHA-256 of the XML file.
+     * @return the contents, or {@code null} if the snapshot does not exist, was created from other
+     *     contents, or is not valid.
+     * @throws IOException if an error occurred while reading the snapshot.
+     */
+    static ZapVersions load(Path snapshotFile, byte[] expectedHash) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        try {
+            return load(buffer, expectedHash);
+        } catch (RuntimeException e) {
+            // Truncated or otherwise corrupted.
+            return null;
+        }
+    }
+
+    private static ZapVersions load(ByteBuffer buffer, byte[] expectedHash) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return null;
+        }
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get(hash);
+        if (!Arrays.equals(hash, expectedHash)) {
+            return null;
+        }
+
+        int stringCount = buffer.getInt();
+        int stringDataLength = buffer.getInt();
+        int addOnCount = buffer.getInt();
+        int dependencyCount = buffer.getInt();
+        boolean hasCore = buffer.get() != 0;
+
+        int[] offsets = new int[stringCount + 1];
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + offsets.length * 4);
+        String[] strings = new String[stringCount];
+        byte[] stringData = new byte[stringDataLength];
+        buffer.get(stringData);
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] =
+                    new String(
+                            stringData,
+                            offsets[i],
+                            offsets[i + 1] - offsets[i],
+                            StandardCharsets.UTF_8);
+        }
+
+        int coreOffset = buffer.position();
+        int addOnsOffset = coreOffset + (hasCore ? CORE_LENGTH : 0);
+        int dependenciesOffset = addOnsOffset + addOnCount * ADD_ON_LENGTH;
+
+        List<ZapVersions.Dependency> dependencies = new ArrayList<>(dependencyCount);
+        buffer.position(dependenciesOffset);
+        for (int i = 0; i < dependencyCount; i++) {
+            dependencies.add(
+                    new ZapVersions.Dependency(
+                            getString(buffer, strings),
+                            getString(buffer, strings),
+                            getString(buffer, strings)));
+        }
+
+        ZapVersions.Core core = null;
+        if (hasCore) {
+            buffer.position(coreOffset);
+            core =
+                    new ZapVersions.Core(
+                            getString(buffer, strings),
+                            getString(buffer, strings),
+                            getRelease(buffer, strings),
+                            getRelease(buffer, strings),
+                            getRelease(buffer, strings),
+                            getRelease(buffer, strings),
+                            getRelease(buffer, strings),
+                            getString(buffer, strings),
+                            getString(buffer, strings));
+        }
+
+        Map<String, ZapVersions.AddOn> addOns = new LinkedHashMap<>();
+        buffer.position(addOnsOffset);
+        for (int i = 0; i < addOnCount; i++) {
+            String[] values = new String[ADD_ON_STRINGS];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = getString(buffer, strings);
+            }
+            long size = buffer.getLong();
+            int dependenciesStart = buffer.getInt();
+            int dependenciesEnd = dependenciesStart + buffer.getInt();
+            ZapVersions.AddOn addOn =
+                    new ZapVersions.AddOn(
+                            values[0],
+                            values[1],
+                            values[2],
+                            values[3],
+                            values[4],
+                            values[5],
+                            values[6],
+                            values[7],
+                            values[8],
+                            values[9],
+                            values[10],
+                            values[11],
+                            values[12],
+                            values[13],
+                            size,
+                            values[14],
+                            values[15],
+                            values[16],
+                            dependencies.subList(dependenciesStart, dependenciesEnd));
+            addOns.put(addOn.id(), addOn);
+        }
+        return new ZapVersions(core, addOns);
+    }
+
+    private static String getString(ByteBuffer buffer, String[] strings) {
+        int idx = buffer.getInt();
+        return idx == NULL_STRING ? null : strings[idx];
+    }
+
+    private static ZapVersions.Release getRelease(ByteBuffer buffer, String[] strings) {
+        boolean present = buffer.get() != 0;
+        String url = getString(buffer, strings);
+        String file = getString(buffer, strings);
+        String hash = getString(buffer, strings);
+        long size = buffer.getLong();
+        return present ? new ZapVersions.Release(url, file, hash, size) : null;
+    }
+
+    /**
+     * Creates the snapshot of the given contents.
+     *
+     * @param zapVersions the contents of the XML file.
+     * @param hash the SHA-256 of the XML file.
+     * @return the snapshot.
+     */
+    static byte[] create(ZapVersions zapVersions, byte[] hash) {
+        StringTable strings = new StringTable();
+        ZapVersions.Core core = zapVersions.getCore();
+        List<ZapVersions.AddOn> addOns = zapVersions.getAddOns();
+        int dependencyCount = 0;
+        for (ZapVersions.AddOn addOn : addOns) {
+            dependencyCount += addOn.dependencies().size();
+        }
+
+        ByteBuffer records =
+                ByteBuffer.allocate(
+                        (core != null ? CORE_LENGTH : 0)
+                                + addOns.size() * ADD_ON_LENGTH
+                                + dependencyCount * DEPENDENCY_LENGTH);
+        if (core != null) {
+            records.putInt(strings.add(core.version()));
+            records.putInt(strings.add(core.dailyVersion()));
+            putRelease(records, strings, core.daily());
+            putRelease(records, strings, core.windows32());
+            putRelease(records, strings, core.windows());
+            putRelease(records, strings, core.linux());
+            putRelease(records, strings, core.mac());
+            records.putInt(strings.add(core.relnotes()));
+            records.putInt(strings.add(core.relnotesUrl()));
+        }
+        int dependenciesStart = 0;
+        for (ZapVersions.AddOn addOn : addOns) {
+            for (String value :
+                    new String[] {
+                        addOn.id(),
+                        addOn.name(),
+                        addOn.description(),
+                        addOn.author(),
+                        addOn.version(),
+                        addOn.semVer(),
+                        addOn.file(),
+                        addOn.status(),
+                        addOn.changes(),
+                        addOn.url(),
+                        addOn.hash(),
+                        addOn.info(),
+                        addOn.repo(),
+                        addOn.date(),
+                        addOn.notBeforeVersion(),
+                        addOn.notFromVersion(),
+                        addOn.javaVersion()
+                    }) {
+                records.putInt(strings.add(value));
+            }
+            records.putLong(addOn.size());
+            records.putInt(dependenciesStart);
+            records.putInt(addOn.dependencies().size());
+            dependenciesStart += addOn.dependencies().size();
+        }
+        for (ZapVersions.AddOn addOn : addOns) {
+            for (ZapVersions.Dependency dependency : addOn.dependencies()) {
+                records.putInt(strings.add(dependency.id()));
+                records.putInt(strings.add(dependency.version()));
+                records.putInt(strings.add(dependency.semVer()));
+            }
+        }
+
+        byte[] stringData = strings.getData();
+        ByteBuffer snapshot =
+                ByteBuffer.allocate(
+                        HEADER_LENGTH
+                                + (strings.size() + 1) * 4
+                                + stringData.length
+                                + records.capacity());
+        snapshot.putInt(MAGIC);
+        snapshot.putInt(FORMAT_VERSION);
+        snapshot.put(hash);
+        snapshot.putInt(strings.size());
+        snapshot.putInt(stringData.length);
+        snapshot.putInt(addOns.size());
+        snapshot.putInt(dependencyCount);
+        snapshot.put((byte) (core != null ? 1 : 0));
+        for (int offset : strings.getOffsets()) {
+            snapshot.putInt(offset);
+        }
+        snapshot.put(stringData);
+        snapshot.put(records.array());
+        return snapshot.array();
+    }
+
+    private static void putRelease(
+            ByteBuffer buffer, StringTable strings, ZapVersions.Release release) {
+        if (release == null) {
+            buffer.put((byte) 0);
+            buffer.putInt(NULL_STRING).putInt(NULL_STRING).putInt(NULL_STRING);
+            buffer.putLong(0);
+            return;
+        }
+        buffer.put((byte) 1);
+        buffer.putInt(strings.add(release.url()));
+        buffer.putInt(strings.add(release.file()));
+        buffer.putInt(strings.add(release.hash()));
+        buffer.putLong(release.size());
+    }
+
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private int length;
+
+        int add(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            return indexes.computeIfAbsent(
+                    value,
+                    k -> {
+                        byte[] bytes = k.getBytes(StandardCharsets.UTF_8);
+                        strings.add(bytes);
+                        length += bytes.length;
+                        return strings.size() - 1;
+                    });
+        }
+
+        int size() {
+            return strings.size();
+        }
+
+        int[] getOffsets() {
+            int[] offsets = new int[strings.size() + 1];
+            for (int i = 0; i < strings.size(); i++) {
+                offsets[i + 1] = offsets[i] + strings.get(i).length;
+            }
+            return offsets;
+        }
+
+        byte[] getData() {
+            byte[] data = new byte[length];
+            int offset = 0;
+            for (byte[] string : strings) {
+                System.arraycopy(string, 0, data, offset, string.length);
+                offset += string.length;
+            }
+            return data;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/** Helper methods to stream {@code ZapVersions.xml} files with StAX. */
+final class ZapVersionsXmlReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private ZapVersionsXmlReader() {}
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Creates a reader positioned at the start of the root element.
+     *
+     * @param in the input stream with the XML.
+     * @return the reader.
+     * @throws XMLStreamException if an error occurred while reading or if there's no root element.
+     */
+    static XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return reader;
+            }
+        }
+        throw new XMLStreamException("No root element found.");
+    }
+
+    static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+                || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE;
+    }
+
+    static void validateNoAttributes(XMLStreamReader reader) throws XMLStreamException {
+        if (reader.getAttributeCount() != 0) {
+            throw new XMLStreamException(
+                    "Attributes are not supported, found in element: " + reader.getLocalName(),
+                    reader.getLocation());
+        }
+    }
+
+    /**
+     * Skips the element at the current position, leaving the reader at its end.
+     *
+     * @param reader the reader positioned at the start of the element.
+     * @throws XMLStreamException if an error occurred while reading.
+     */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Copies the element at the current position to the given writer, without materialising it.
+     *
+     * @param reader the reader positioned at the start of the element, left at its end.
+     * @param writer the writer.
+     * @param depth the depth of the element.
+     * @throws XMLStreamException if an error occurred while reading.
+     * @throws IOException if an error occurred while writing.
+     */
+    static void copyElement(XMLStreamReader reader, ZapVersionsXmlWriter writer, int depth)
+            throws XMLStreamException, IOException {
+        validateNoAttributes(reader);
+        String name = reader.getLocalName();
+        StringBuilder text = new StringBuilder();
+        boolean parent = false;
+        for (int event = reader.next();
+                event != XMLStreamConstants.END_ELEMENT;
+                event = reader.next()) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (!parent) {
+                    parent = true;
+                    writer.writeStartElement(name, depth);
+                }
+                copyElement(reader, writer, depth + 1);
+            } else if (!parent && isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+
+        if (parent) {
+            writer.writeEndElement(name, depth);
+        } else {
+            writer.writeLeafElement(name, text.toString().trim(), depth);
+        }
+    }
+}
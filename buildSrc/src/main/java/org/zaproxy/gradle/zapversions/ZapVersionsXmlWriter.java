@@ -0,0 +1,173 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@code ZapVersions.xml} files with the same layout as the transformer of {@link
+ * org.zaproxy.gradle.CustomXmlConfiguration CustomXmlConfiguration}, that is, four spaces of
+ * indentation, one element per line, and the same escaping of the text.
+ *
+ * <p>The writer can also be created {@link #minified(OutputStream) minified}, without indentation
+ * nor new lines.
+ */
+public class ZapVersionsXmlWriter implements Flushable {
+
+    static final String XML_DECLARATION =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+    private static final String INDENT = "    ";
+    private static final String NEW_LINE = "\n";
+
+    private final Writer writer;
+    private final String indent;
+    private final String newLine;
+
+    public ZapVersionsXmlWriter(OutputStream out) {
+        this(createWriter(out));
+    }
+
+    public ZapVersionsXmlWriter(Writer writer) {
+        this(writer, INDENT, NEW_LINE);
+    }
+
+    private ZapVersionsXmlWriter(Writer writer, String indent, String newLine) {
+        this.writer = writer;
+        this.indent = indent;
+        this.newLine = newLine;
+    }
+
+    /**
+     * Creates a writer that does not indent nor write new lines between the elements.
+     *
+     * @param out the output stream to write to.
+     * @return the writer.
+     */
+    public static ZapVersionsXmlWriter minified(OutputStream out) {
+        return new ZapVersionsXmlWriter(createWriter(out), "", "");
+    }
+
+    private static Writer createWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public void writeDeclaration() throws IOException {
+        writer.write(XML_DECLARATION);
+        writer.write(newLine);
+    }
+
+    public void writeStartElement(String name, int depth) throws IOException {
+        indent(depth);
+        writer.write('<');
+        writer.write(name);
+        writer.write('>');
+        writer.write(newLine);
+    }
+
+    public void writeEndElement(String name, int depth) throws IOException {
+        indent(depth);
+        writer.write("</");
+        writer.write(name);
+        writer.write('>');
+        writer.write(newLine);
+    }
+
+    public void writeLeafElement(String name, String text, int depth) throws IOException {
+        indent(depth);
+        writer.write('<');
+        writer.write(name);
+        if (text.isEmpty()) {
+            writer.write("/>");
+        } else {
+            writer.write('>');
+            writeEscaped(text);
+            writer.write("</");
+            writer.write(name);
+            writer.write('>');
+        }
+        writer.write(newLine);
+    }
+
+    /**
+     * Writes the given element and its children.
+     *
+     * @param element the element to write.
+     * @param depth the depth of the element.
+     * @throws IOException if an error occurred while writing.
+     */
+    public void writeElement(ZapVersionsElement element, int depth) throws IOException {
+        if (!element.hasChildren()) {
+            writeLeafElement(element.getName(), element.getText(), depth);
+            return;
+        }
+
+        writeStartElement(element.getName(), depth);
+        for (ZapVersionsElement child : element.getChildren()) {
+            writeElement(child, depth + 1);
+        }
+        writeEndElement(element.getName(), depth);
+    }
+
+    private void indent(int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(indent);
+        }
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '\r':
+                    writer.write("&#13;");
+                    break;
+                default:
+                    if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+                        // Same as the transformer, which uses character references for these.
+                        writer.write("&#" + text.codePointAt(i) + ";");
+                        i++;
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link AddOnManifest}. */
+class AddOnManifestTest {
+
+    private static final String MANIFEST =
+            """
+            <?xml version="1.0" encoding="UTF-8" standalone="no"?>
+            <zapaddon>
+                <name>Add-On Name</name>
+                <version>2</version>
+                <semver>2.1.0</semver>
+                <status>beta</status>
+                <description>Description &amp; more.</description>
+                <author>ZAP Dev Team</author>
+                <url>https://www.zaproxy.org/docs/desktop/addons/name/</url>
+                <repo>https://github.com/zaproxy/zap-extensions/</repo>
+                <changes>
+                    <![CDATA[
+                    <h3>Changed</h3>
+                    ]]>
+                </changes>
+                <dependencies>
+                    <javaversion>11</javaversion>
+                    <addons>
+                        <addon>
+                            <id>commonlib</id>
+                            <version>1.*</version>
+                        </addon>
+                        <addon>
+                            <id>network</id>
+                            <semver>&gt;= 0.3.0</semver>
+                            <not-before-version>1</not-before-version>
+                            <not-from-version>9</not-from-version>
+                        </addon>
+                    </addons>
+                </dependencies>
+                <extensions>
+                    <extension v="1">
+                        <classname>org.zaproxy.Extension</classname>
+                        <dependencies>
+                            <addons>
+                                <addon><id>other</id></addon>
+                            </addons>
+                        </dependencies>
+                    </extension>
+                </extensions>
+                <not-before-version>2.16.0</not-before-version>
+            </zapaddon>
+            """;
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldParseManifest() throws Exception {
+        // Given
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes(MANIFEST));
+        // When
+        AddOnManifest manifest = AddOnManifest.parse(in);
+        // Then
+        assertThat(manifest.name()).isEqualTo("Add-On Name");
+        assertThat(manifest.version()).isEqualTo("2");
+        assertThat(manifest.semVer()).isEqualTo("2.1.0");
+        assertThat(manifest.status()).isEqualTo("beta");
+        assertThat(manifest.description()).isEqualTo("Description & more.");
+        assertThat(manifest.author()).isEqualTo("ZAP Dev Team");
+        assertThat(manifest.url()).isEqualTo("https://www.zaproxy.org/docs/desktop/addons/name/");
+        assertThat(manifest.repo()).isEqualTo("https://github.com/zaproxy/zap-extensions/");
+        assertThat(manifest.changes()).isEqualTo("<h3>Changed</h3>");
+        assertThat(manifest.notBeforeVersion()).isEqualTo("2.16.0");
+        assertThat(manifest.notFromVersion()).isNull();
+        assertThat(manifest.javaVersion()).isEqualTo("11");
+        assertThat(manifest.dependencies())
+                .containsExactly(
+                        new AddOnManifest.Dependency("commonlib", "1.*", null, null, null),
+                        new AddOnManifest.Dependency("network", null, ">= 0.3.0", "1", "9"));
+    }
+
+    @Test
+    void shouldParseManifestWithoutOptionalElements() throws Exception {
+        // Given
+        ByteArrayInputStream in =
+                new ByteArrayInputStream(bytes("<zapaddon><name>Name</name></zapaddon>"));
+        // When
+        AddOnManifest manifest = AddOnManifest.parse(in);
+        // Then
+        assertThat(manifest.name()).isEqualTo("Name");
+        assertThat(manifest.status()).isNull();
+        assertThat(manifest.javaVersion()).isNull();
+        assertThat(manifest.dependencies()).isEmpty();
+    }
+
+    @Test
+    void shouldFailToParseInvalidManifest() {
+        // Given
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes("<zapaddon><name>"));
+        // When / Then
+        assertThatThrownBy(() -> AddOnManifest.parse(in)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldReadManifestFromAddOn() throws Exception {
+        // Given
+        Path addOn = createAddOn(AddOnManifest.FILE_NAME);
+        // When
+        AddOnManifest manifest = AddOnManifest.read(addOn);
+        // Then
+        assertThat(manifest.name()).isEqualTo("Add-On Name");
+        assertThat(manifest.dependencies()).hasSize(2);
+    }
+
+    @Test
+    void shouldFailToReadAddOnWithoutManifest() throws Exception {
+        // Given
+        Path addOn = createAddOn("Other.xml");
+        // When / Then
+        assertThatThrownBy(() -> AddOnManifest.read(addOn))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not have the manifest");
+    }
+
+    private Path createAddOn(String manifestName) throws IOException {
+        Path addOn = dir.resolve("addon-beta-2.zap");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(addOn))) {
+            out.putNextEntry(new ZipEntry(manifestName));
+            out.write(bytes(MANIFEST));
+            out.closeEntry();
+        }
+        return addOn;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
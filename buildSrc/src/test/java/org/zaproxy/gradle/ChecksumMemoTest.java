@@ -0,0 +1,169 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link ChecksumMemo}. */
+class ChecksumMemoTest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldCalculateChecksumIfNotKnown() throws Exception {
+        // Given
+        ChecksumMemo memo = new ChecksumMemo(dir.resolve("memo/checksums.properties"));
+        Path file = createFile("file.zap", "contents");
+        // When
+        ChecksummedFile checksummedFile = memo.read(file, ALGORITHM);
+        // Then
+        assertThat(checksummedFile)
+                .isEqualTo(new ChecksummedFile(file, 8, ALGORITHM, sha256("contents")));
+        assertThat(memo.getHits()).isZero();
+        assertThat(memo.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReuseChecksumOfUnchangedFileFromAnotherInstance() throws Exception {
+        // Given
+        Path memoFile = dir.resolve("memo/checksums.properties");
+        Path file = createFile("file.zap", "contents");
+        ChecksumMemo otherMemo = new ChecksumMemo(memoFile);
+        otherMemo.read(file, ALGORITHM);
+        otherMemo.save();
+        ChecksumMemo memo = new ChecksumMemo(memoFile);
+        // When
+        ChecksummedFile checksummedFile = memo.read(file, ALGORITHM);
+        // Then
+        assertThat(checksummedFile)
+                .isEqualTo(new ChecksummedFile(file, 8, ALGORITHM, sha256("contents")));
+        assertThat(memo.getHits()).isEqualTo(1);
+        assertThat(memo.getMisses()).isZero();
+    }
+
+    @Test
+    void shouldRecalculateChecksumIfFileChanged() throws Exception {
+        // Given
+        ChecksumMemo memo = new ChecksumMemo(dir.resolve("memo/checksums.properties"));
+        Path file = createFile("file.zap", "contents");
+        FileTime lastModifiedTime = Files.getLastModifiedTime(file);
+        memo.read(file, ALGORITHM);
+        createFile("file.zap", "CONTENTS");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedTime.toMillis() + 1000));
+        // When
+        ChecksummedFile checksummedFile = memo.read(file, ALGORITHM);
+        // Then
+        assertThat(checksummedFile.checksum()).isEqualTo(sha256("CONTENTS"));
+        assertThat(memo.getHits()).isZero();
+        assertThat(memo.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotReuseChecksumOfOtherAlgorithm() throws Exception {
+        // Given
+        ChecksumMemo memo = new ChecksumMemo(dir.resolve("memo/checksums.properties"));
+        Path file = createFile("file.zap", "contents");
+        memo.read(file, ALGORITHM);
+        // When
+        ChecksummedFile checksummedFile = memo.read(file, "SHA-1");
+        // Then
+        assertThat(checksummedFile.checksum()).isEqualTo(DigestUtils.sha1Hex("contents"));
+        assertThat(memo.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUseChecksumPut() throws Exception {
+        // Given
+        ChecksumMemo memo = new ChecksumMemo(dir.resolve("memo/checksums.properties"));
+        Path file = createFile("file.zap", "contents");
+        memo.put(new ChecksummedFile(file, 8, ALGORITHM, "checksum"));
+        // When
+        ChecksummedFile checksummedFile = memo.read(file, ALGORITHM);
+        // Then
+        assertThat(checksummedFile.checksum()).isEqualTo("checksum");
+        assertThat(memo.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropEntriesOfFilesNoLongerExisting() throws Exception {
+        // Given
+        Path memoFile = dir.resolve("memo/checksums.properties");
+        Path file = createFile("file.zap", "contents");
+        Path otherFile = createFile("other.zap", "contents");
+        ChecksumMemo memo = new ChecksumMemo(memoFile);
+        memo.read(file, ALGORITHM);
+        memo.read(otherFile, ALGORITHM);
+        memo.save();
+        Files.delete(file);
+        ChecksumMemo otherMemo = new ChecksumMemo(memoFile);
+        otherMemo.read(createFile("new.zap", "contents"), ALGORITHM);
+        // When
+        otherMemo.save();
+        // Then
+        assertThat(Files.readString(memoFile, StandardCharsets.ISO_8859_1))
+                .contains("other.zap", "new.zap")
+                .doesNotContain("file.zap");
+    }
+
+    @Test
+    void shouldNotPersistEntriesUntilSaved() throws Exception {
+        // Given
+        Path memoFile = dir.resolve("memo/checksums.properties");
+        ChecksumMemo memo = new ChecksumMemo(memoFile);
+        // When
+        memo.read(createFile("file.zap", "contents"), ALGORITHM);
+        // Then
+        assertThat(memoFile).doesNotExist();
+    }
+
+    @Test
+    void shouldMergeEntriesSavedByOtherInstances() throws Exception {
+        // Given
+        Path memoFile = dir.resolve("memo/checksums.properties");
+        ChecksumMemo memo = new ChecksumMemo(memoFile);
+        ChecksumMemo otherMemo = new ChecksumMemo(memoFile);
+        memo.read(createFile("file.zap", "contents"), ALGORITHM);
+        otherMemo.read(createFile("other.zap", "contents"), ALGORITHM);
+        // When
+        otherMemo.save();
+        memo.save();
+        // Then
+        assertThat(Files.readString(memoFile, StandardCharsets.ISO_8859_1))
+                .contains("file.zap", "other.zap");
+    }
+
+    private Path createFile(String name, String contents) throws Exception {
+        return Files.writeString(dir.resolve(name), contents);
+    }
+
+    private static String sha256(String contents) {
+        return DigestUtils.sha256Hex(contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link ChecksummedFile}. */
+class ChecksummedFileTest {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final byte[] CONTENTS = "contents".getBytes(StandardCharsets.UTF_8);
+    private static final String CHECKSUM = DigestUtils.sha256Hex(CONTENTS);
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldCalculateSizeAndChecksumWhileWriting() throws Exception {
+        // Given
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile checksummedFile =
+                ChecksummedFile.write(new ByteArrayInputStream(CONTENTS), file, ALGORITHM);
+        // Then
+        assertThat(Files.readAllBytes(file)).isEqualTo(CONTENTS);
+        assertThat(checksummedFile.file()).isEqualTo(file);
+        assertThat(checksummedFile.size()).isEqualTo(CONTENTS.length);
+        assertThat(checksummedFile.checksumAlgorithm()).isEqualTo(ALGORITHM);
+        assertThat(checksummedFile.checksum()).isEqualTo(CHECKSUM);
+    }
+
+    @Test
+    void shouldCalculateSizeAndChecksumWhileReading() throws Exception {
+        // Given
+        Path file = Files.write(dir.resolve("file.zap"), CONTENTS);
+        // When
+        ChecksummedFile checksummedFile = ChecksummedFile.read(file, ALGORITHM);
+        // Then
+        assertThat(checksummedFile.size()).isEqualTo(CONTENTS.length);
+        assertThat(checksummedFile.checksum()).isEqualTo(CHECKSUM);
+    }
+
+    @Test
+    void shouldVerifyExpectedChecksum() {
+        // Given
+        ChecksummedFile checksummedFile =
+                new ChecksummedFile(dir.resolve("file.zap"), 8, ALGORITHM, CHECKSUM);
+        // When / Then
+        assertThat(checksummedFile.verifyChecksum(CHECKSUM)).isEqualTo(CHECKSUM);
+        assertThat(checksummedFile.verifyChecksum(null)).isEqualTo(CHECKSUM);
+        assertThat(checksummedFile.verifyChecksum("")).isEqualTo(CHECKSUM);
+    }
+
+    @Test
+    void shouldFailToVerifyDifferentChecksum() {
+        // Given
+        ChecksummedFile checksummedFile =
+                new ChecksummedFile(dir.resolve("file.zap"), 8, ALGORITHM, CHECKSUM);
+        // When / Then
+        assertThatThrownBy(() -> checksummedFile.verifyChecksum("other"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Checksums do not match");
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link DownloadCache}. */
+class DownloadCacheTest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldMissIfNotCached() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, "checksum", target);
+        // Then
+        assertThat(file).isNull();
+        assertThat(target).doesNotExist();
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGetByExpectedChecksum() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        cache.put(downloaded);
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, downloaded.checksum(), target);
+        // Then
+        assertThat(file)
+                .isEqualTo(new ChecksummedFile(target, 8, ALGORITHM, downloaded.checksum()));
+        assertThat(target).hasContent("contents");
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isZero();
+    }
+
+    @Test
+    void shouldGetFromAnotherInstance() throws Exception {
+        // Given
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        new DownloadCache(dir.resolve("cache"), 1024).put(downloaded);
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, downloaded.checksum(), target);
+        // Then
+        assertThat(file.checksum()).isEqualTo(downloaded.checksum());
+        assertThat(target).hasContent("contents");
+    }
+
+    @Test
+    void shouldMissWithoutExpectedChecksum() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        cache.put(createFile("downloaded.zap", "contents"));
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, null, target);
+        // Then
+        assertThat(file).isNull();
+        assertThat(target).doesNotExist();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMissAndRemoveCorruptedFile() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        cache.put(downloaded);
+        Path object = getObject(downloaded);
+        Files.writeString(object, "corrupted");
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, downloaded.checksum(), target);
+        // Then
+        assertThat(file).isNull();
+        assertThat(target).doesNotExist();
+        assertThat(object).doesNotExist();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotChangeCachedFileWhenFileObtainedChanges() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        cache.put(downloaded);
+        Path target = dir.resolve("target.zap");
+        cache.get(ALGORITHM, downloaded.checksum(), target);
+        // When
+        Files.writeString(target, "changed");
+        // Then
+        assertThat(getObject(downloaded)).hasContent("contents");
+    }
+
+    @Test
+    void shouldLinkFilePutIntoCache() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        // When
+        cache.put(downloaded);
+        // Then
+        assertThat(Files.isSameFile(getObject(downloaded), downloaded.file())).isTrue();
+    }
+
+    @Test
+    void shouldMissIfFilePutChangedAfterwards() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 1024);
+        ChecksummedFile downloaded = createFile("downloaded.zap", "contents");
+        cache.put(downloaded);
+        Files.writeString(downloaded.file(), "changed");
+        Path target = dir.resolve("target.zap");
+        // When
+        ChecksummedFile file = cache.get(ALGORITHM, downloaded.checksum(), target);
+        // Then
+        assertThat(file).isNull();
+        assertThat(target).doesNotExist();
+        assertThat(getObject(downloaded)).doesNotExist();
+        assertThat(downloaded.file()).hasContent("changed");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFiles() throws Exception {
+        // Given
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 16);
+        ChecksummedFile first = createFile("first.zap", "12345678");
+        cache.put(first);
+        ChecksummedFile second = createFile("second.zap", "abcdefgh");
+        cache.put(second);
+        setLastModifiedTime(first, 1_000);
+        setLastModifiedTime(second, 2_000);
+        cache.get(ALGORITHM, first.checksum(), dir.resolve("first-hit.zap"));
+        // When
+        cache.put(createFile("third.zap", "ABCDEFGH"));
+        // Then
+        assertThat(cache.get(ALGORITHM, first.checksum(), dir.resolve("a.zap"))).isNotNull();
+        assertThat(cache.get(ALGORITHM, second.checksum(), dir.resolve("b.zap"))).isNull();
+    }
+
+    @Test
+    void shouldEvictWithSizeOfExistingFiles() throws Exception {
+        // Given
+        ChecksummedFile first = createFile("first.zap", "12345678");
+        new DownloadCache(dir.resolve("cache"), 16).put(first);
+        setLastModifiedTime(first, 1_000);
+        DownloadCache cache = new DownloadCache(dir.resolve("cache"), 16);
+        cache.put(createFile("second.zap", "abcdefgh"));
+        // When
+        cache.put(createFile("third.zap", "ABCDEFGH"));
+        // Then
+        assertThat(getObject(first)).doesNotExist();
+    }
+
+    private ChecksummedFile createFile(String name, String contents) throws Exception {
+        Path file = Files.write(dir.resolve(name), contents.getBytes(StandardCharsets.UTF_8));
+        return ChecksummedFile.read(file, ALGORITHM);
+    }
+
+    private void setLastModifiedTime(ChecksummedFile file, long time) throws Exception {
+        Files.setLastModifiedTime(getObject(file), FileTime.fromMillis(time));
+    }
+
+    private Path getObject(ChecksummedFile file) {
+        return dir.resolve("cache/objects").resolve(ALGORITHM).resolve(file.checksum());
+    }
+}
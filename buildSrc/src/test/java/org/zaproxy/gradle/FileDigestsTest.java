@@ -0,0 +1,83 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link FileDigests}. */
+class FileDigestsTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldCalculateAllDigestsAndSize() throws Exception {
+        // Given
+        byte[] contents = new byte[3 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(contents);
+        Path file = Files.write(dir.resolve("file.zap"), contents);
+        // When
+        FileDigests digests = FileDigests.read(file, "SHA-256", "SHA-1", "SHA-512");
+        // Then
+        assertThat(digests.file()).isEqualTo(file);
+        assertThat(digests.size()).isEqualTo(contents.length);
+        assertThat(digests.digests().keySet()).containsExactly("SHA-256", "SHA-1", "SHA-512");
+        assertThat(digests.get("SHA-256")).isEqualTo(DigestUtils.sha256Hex(contents));
+        assertThat(digests.get("SHA-1")).isEqualTo(DigestUtils.sha1Hex(contents));
+        assertThat(digests.get("SHA-512")).isEqualTo(DigestUtils.sha512Hex(contents));
+    }
+
+    @Test
+    void shouldCalculateDigestsOfEmptyFile() throws Exception {
+        // Given
+        Path file = Files.write(dir.resolve("file.zap"), new byte[0]);
+        // When
+        FileDigests digests = FileDigests.read(file, "SHA-256");
+        // Then
+        assertThat(digests.size()).isZero();
+        assertThat(digests.get("SHA-256")).isEqualTo(DigestUtils.sha256Hex(new byte[0]));
+    }
+
+    @Test
+    void shouldFailToGetDigestNotCalculated() throws Exception {
+        // Given
+        Path file = Files.write(dir.resolve("file.zap"), new byte[1]);
+        FileDigests digests = FileDigests.read(file, "SHA-256");
+        // When / Then
+        assertThatThrownBy(() -> digests.get("SHA-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFailForUnsupportedAlgorithm() throws Exception {
+        // Given
+        Path file = Files.write(dir.resolve("file.zap"), new byte[1]);
+        // When / Then
+        assertThatThrownBy(() -> FileDigests.read(file, "SHA-256", "NotAnAlgorithm"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
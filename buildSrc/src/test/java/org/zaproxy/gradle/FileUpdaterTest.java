@@ -0,0 +1,130 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link FileUpdater}. */
+class FileUpdaterTest {
+
+    private static final FileTime LAST_MODIFIED = FileTime.fromMillis(0);
+
+    @TempDir Path dir;
+
+    private Path file;
+    private FileUpdater fileUpdater;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("file.xml");
+        Files.writeString(file, "contents", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, LAST_MODIFIED);
+        fileUpdater = new FileUpdater();
+    }
+
+    @Test
+    void shouldNotWriteSameContents() throws Exception {
+        // Given
+        byte[] contents = "contents".getBytes(StandardCharsets.UTF_8);
+        // When
+        boolean written = fileUpdater.write(file, contents);
+        // Then
+        assertThat(written).isFalse();
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(LAST_MODIFIED);
+        assertThat(fileUpdater.getFilesSkipped()).isEqualTo(1);
+        assertThat(fileUpdater.getBytesSkipped()).isEqualTo(8);
+        assertThat(fileUpdater.getFilesWritten()).isZero();
+        assertThat(fileUpdater.getBytesWritten()).isZero();
+        assertNoTempFiles();
+    }
+
+    @Test
+    void shouldWriteDifferentContents() throws Exception {
+        // Given
+        byte[] contents = "new contents".getBytes(StandardCharsets.UTF_8);
+        // When
+        boolean written = fileUpdater.write(file, contents);
+        // Then
+        assertThat(written).isTrue();
+        assertThat(file).hasBinaryContent(contents);
+        assertThat(fileUpdater.getFilesWritten()).isEqualTo(1);
+        assertThat(fileUpdater.getBytesWritten()).isEqualTo(12);
+        assertThat(fileUpdater.getFilesSkipped()).isZero();
+        assertNoTempFiles();
+    }
+
+    @Test
+    void shouldWriteNewFile() throws Exception {
+        // Given
+        Path newFile = dir.resolve("new.xml");
+        // When
+        boolean written = fileUpdater.write(newFile, writer("contents"));
+        // Then
+        assertThat(written).isTrue();
+        assertThat(newFile).hasContent("contents");
+    }
+
+    @Test
+    void shouldNotWriteSameContentsFromWriter() throws Exception {
+        // Given / When
+        boolean written = fileUpdater.write(file, writer("contents"));
+        // Then
+        assertThat(written).isFalse();
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(LAST_MODIFIED);
+        assertNoTempFiles();
+    }
+
+    @Test
+    void shouldKeepFileIfWriterFails() throws Exception {
+        // Given
+        FileUpdater.ContentsWriter writer =
+                channel -> {
+                    writer("new").write(channel);
+                    throw new IOException("Failed");
+                };
+        // When
+        assertThatThrownBy(() -> fileUpdater.write(file, writer)).isInstanceOf(IOException.class);
+        // Then
+        assertThat(file).hasContent("contents");
+        assertNoTempFiles();
+    }
+
+    private static FileUpdater.ContentsWriter writer(String contents) {
+        return channel -> channel.write(ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void assertNoTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link Pipeline}. */
+class PipelineTest {
+
+    @Test
+    void shouldRunItemsThroughAllStages() throws Exception {
+        // Given
+        Pipeline<Integer, String> pipeline =
+                Pipeline.<Integer>create(2)
+                        .then("double", 3, i -> i * 2)
+                        .then("increment", 1, i -> i + 1)
+                        .then("format", 2, i -> "#" + i);
+        List<Integer> inputs = IntStream.range(0, 50).boxed().toList();
+        // When
+        List<String> results = pipeline.run(inputs);
+        // Then
+        assertThat(sorted(results))
+                .isEqualTo(sorted(inputs.stream().map(i -> "#" + (i * 2 + 1)).toList()));
+        for (Pipeline.Stage stage : pipeline.getStages()) {
+            assertThat(stage.getCompleted()).isEqualTo(50);
+            assertThat(stage.getInFlight()).isZero();
+        }
+    }
+
+    @Test
+    void shouldReturnInputsIfNoStages() throws Exception {
+        // Given
+        Pipeline<String, String> pipeline = Pipeline.create(1);
+        // When
+        List<String> results = pipeline.run(List.of("a", "b"));
+        // Then
+        assertThat(results).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void shouldReturnNoResultsIfNoInputs() throws Exception {
+        // Given
+        Pipeline<String, String> pipeline = Pipeline.<String>create(1).then("s", 2, s -> s);
+        // When
+        List<String> results = pipeline.run(List.of());
+        // Then
+        assertThat(results).isEqualTo(List.of());
+    }
+
+    @Test
+    void shouldOverlapStages() throws Exception {
+        // Given
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        Pipeline<Integer, Integer> pipeline =
+                Pipeline.<Integer>create(1)
+                        .then(
+                                "first",
+                                1,
+                                i -> {
+                                    if (i == 1 && !secondStarted.await(5, TimeUnit.SECONDS)) {
+                                        throw new IllegalStateException("Stages not overlapped.");
+                                    }
+                                    return i;
+                                })
+                        .then(
+                                "second",
+                                1,
+                                i -> {
+                                    secondStarted.countDown();
+                                    return i;
+                                });
+        // When
+        List<Integer> results = pipeline.run(List.of(0, 1));
+        // Then
+        assertThat(sorted(results)).isEqualTo(List.of(0, 1));
+    }
+
+    @Test
+    void shouldThrowFirstFailureAndStopOtherStages() throws Exception {
+        // Given
+        AtomicInteger processed = new AtomicInteger();
+        Pipeline<Integer, Integer> pipeline =
+                Pipeline.<Integer>create(1)
+                        .then(
+                                "fail",
+                                1,
+                                i -> {
+                                    if (i == 2) {
+                                        throw new IOException("Failed " + i);
+                                    }
+                                    return i;
+                                })
+                        .then(
+                                "count",
+                                1,
+                                i -> {
+                                    processed.incrementAndGet();
+                                    return i;
+                                });
+        List<Integer> inputs = IntStream.range(0, 1000).boxed().toList();
+        // When / Then
+        assertThatThrownBy(() -> pipeline.run(inputs))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Failed 2");
+        assertThat(processed.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldTrackLatencyOfStages() throws Exception {
+        // Given
+        Pipeline<Integer, Integer> pipeline =
+                Pipeline.<Integer>create(1)
+                        .then(
+                                "sleep",
+                                1,
+                                i -> {
+                                    TimeUnit.MILLISECONDS.sleep(20);
+                                    return i;
+                                });
+        // When
+        pipeline.run(List.of(1, 2));
+        // Then
+        Pipeline.Stage stage = pipeline.getStages().get(0);
+        assertThat(stage.getName()).isEqualTo("sleep");
+        assertThat(stage.getAverageLatency().toMillis()).isGreaterThanOrEqualTo(20L);
+        assertThat(stage.getMaxLatency().toMillis()).isGreaterThanOrEqualTo(20L);
+    }
+
+    @Test
+    void shouldNotAllowInvalidCapacityOrWorkers() {
+        // Given / When / Then
+        assertThatThrownBy(() -> Pipeline.create(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Pipeline.create(1).then("s", 0, s -> s))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <T extends Comparable<T>> List<T> sorted(List<T> values) {
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link RangedDownloader}. */
+class RangedDownloaderTest {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final byte[] CONTENTS = new byte[10_000];
+    private static final String CHECKSUM;
+    private static final String ETAG;
+
+    static {
+        new Random(1).nextBytes(CONTENTS);
+        CHECKSUM = DigestUtils.sha256Hex(CONTENTS);
+        ETAG = "\"" + CHECKSUM + "\"";
+    }
+
+    @TempDir Path dir;
+
+    private HttpServer server;
+    private URI uri;
+    private boolean acceptsRanges;
+    private String etag;
+    private AtomicInteger failures;
+    private String missingRange;
+    private List<String> ranges;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        acceptsRanges = true;
+        etag = ETAG;
+        failures = new AtomicInteger();
+        missingRange = null;
+        ranges = new CopyOnWriteArrayList<>();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/file.zap", this::handle);
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        uri = new URI("http://" + address.getHostString() + ":" + address.getPort() + "/file.zap");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldDownloadFileInOneRequest() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded).isEqualTo(new ChecksummedFile(file, 10_000, ALGORITHM, CHECKSUM));
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0", "bytes=0-9999");
+        assertThat(dir).isDirectoryNotContaining("glob:**.part");
+        assertThat(dir).isDirectoryNotContaining("glob:**.validator");
+    }
+
+    @Test
+    void shouldDownloadFileInChunks() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(4_000);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges)
+                .containsExactlyInAnyOrder(
+                        "bytes=0-0", "bytes=0-3999", "bytes=4000-7999", "bytes=8000-9999");
+        assertThat(dir).isDirectoryNotContaining("glob:**.part");
+    }
+
+    @Test
+    void shouldResumePartialDownload() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Files.write(dir.resolve("file.zap.part"), Arrays.copyOf(CONTENTS, 6_000));
+        Files.writeString(dir.resolve("file.zap.part.validator"), ETAG);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0", "bytes=6000-9999");
+        assertThat(dir.resolve("file.zap.part.validator")).doesNotExist();
+    }
+
+    @Test
+    void shouldResumeChunksOfPreviousDownload() throws Exception {
+        // Given
+        missingRange = "bytes=8000-9999";
+        Path file = dir.resolve("file.zap");
+        RangedDownloader previousDownloader =
+                new RangedDownloader(new SharedHttpClient(), 1, 4_000, 3, Duration.ofMillis(1));
+        assertThatThrownBy(() -> previousDownloader.download(uri, file, ALGORITHM, CHECKSUM))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected status 404");
+        missingRange = null;
+        ranges.clear();
+        RangedDownloader downloader = createDownloader(4_000);
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0", "bytes=8000-9999");
+        assertThat(dir).isDirectoryNotContaining("glob:**.part");
+        assertThat(dir).isDirectoryNotContaining("glob:**.progress");
+    }
+
+    @Test
+    void shouldRestartChunksIfProgressNotValid() throws Exception {
+        // Given
+        Files.write(dir.resolve("file.zap.part"), new byte[CONTENTS.length]);
+        Files.writeString(dir.resolve("file.zap.part.validator"), ETAG);
+        Files.writeString(dir.resolve("file.zap.part.progress"), "5000\n5000\n5000\n");
+        RangedDownloader downloader = createDownloader(4_000);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges)
+                .containsExactlyInAnyOrder(
+                        "bytes=0-0", "bytes=0-3999", "bytes=4000-7999", "bytes=8000-9999");
+    }
+
+    @Test
+    void shouldRestartPartialDownloadIfRemoteFileChanged() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Files.write(dir.resolve("file.zap.part"), new byte[6_000]);
+        Files.writeString(dir.resolve("file.zap.part.validator"), "\"previous\"");
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0", "bytes=0-9999");
+    }
+
+    @Test
+    void shouldRestartPartialDownloadWithoutValidator() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Files.write(dir.resolve("file.zap.part"), new byte[6_000]);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0", "bytes=0-9999");
+    }
+
+    @Test
+    void shouldRestartPartialDownloadIfRemoteFileChangedAfterProbe() throws Exception {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Files.write(dir.resolve("file.zap.part"), new byte[6_000]);
+        Files.writeString(dir.resolve("file.zap.part.validator"), ETAG);
+        Path file = dir.resolve("file.zap");
+        server.removeContext("/file.zap");
+        server.createContext(
+                "/file.zap",
+                exchange -> {
+                    boolean probe =
+                            "bytes=0-0".equals(exchange.getRequestHeaders().getFirst("Range"));
+                    handle(exchange);
+                    if (probe) {
+                        etag = "\"changed\"";
+                    }
+                });
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+        assertThat(ranges).containsExactly("bytes=0-0");
+    }
+
+    @Test
+    void shouldRestartPartialDownloadIfRangesNotAccepted() throws Exception {
+        // Given
+        acceptsRanges = false;
+        RangedDownloader downloader = createDownloader(4_000);
+        Files.write(dir.resolve("file.zap.part"), new byte[6_000]);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+    }
+
+    @Test
+    void shouldRetryTransientErrors() throws Exception {
+        // Given
+        failures.set(2);
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Path file = dir.resolve("file.zap");
+        // When
+        ChecksummedFile downloaded = downloader.download(uri, file, ALGORITHM, CHECKSUM);
+        // Then
+        assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+        assertThat(file).hasBinaryContent(CONTENTS);
+    }
+
+    @Test
+    void shouldFailAfterMaxAttempts() {
+        // Given
+        failures.set(3);
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Path file = dir.resolve("file.zap");
+        // When / Then
+        assertThatThrownBy(() -> downloader.download(uri, file, ALGORITHM, CHECKSUM))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected status 503");
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void shouldNotKeepFileWithDifferentChecksum() {
+        // Given
+        RangedDownloader downloader = createDownloader(CONTENTS.length);
+        Path file = dir.resolve("file.zap");
+        // When / Then
+        assertThatThrownBy(() -> downloader.download(uri, file, ALGORITHM, "other"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Checksums do not match");
+        assertThat(file).doesNotExist();
+        assertThat(dir.resolve("file.zap.part")).doesNotExist();
+    }
+
+    @Test
+    void shouldResumeAfterMidStreamFailure() throws Exception {
+        // Given
+        try (LocalArtifactServer artifactServer = LocalArtifactServer.start()) {
+            URI artifactUri = artifactServer.addArtifact("file.zap", CONTENTS);
+            artifactServer.failAfter(3_000, 1);
+            RangedDownloader downloader = createDownloader(CONTENTS.length);
+            Path file = dir.resolve("file.zap");
+            // When
+            ChecksummedFile downloaded =
+                    downloader.download(artifactUri, file, ALGORITHM, CHECKSUM);
+            // Then
+            assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+            assertThat(file).hasBinaryContent(CONTENTS);
+            assertThat(artifactServer.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldResumeChunksAfterMidStreamFailures() throws Exception {
+        // Given
+        try (LocalArtifactServer artifactServer = LocalArtifactServer.start()) {
+            URI artifactUri = artifactServer.addArtifact("file.zap", CONTENTS);
+            artifactServer.failAfter(1_000, 2);
+            RangedDownloader downloader = createDownloader(4_000);
+            Path file = dir.resolve("file.zap");
+            // When
+            ChecksummedFile downloaded =
+                    downloader.download(artifactUri, file, ALGORITHM, CHECKSUM);
+            // Then
+            assertThat(downloaded.checksum()).isEqualTo(CHECKSUM);
+            assertThat(file).hasBinaryContent(CONTENTS);
+            assertThat(dir).isDirectoryNotContaining("glob:**.part");
+        }
+    }
+
+    private static RangedDownloader createDownloader(long chunkSize) {
+        return new RangedDownloader(new SharedHttpClient(), 2, chunkSize, 3, Duration.ofMillis(1));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (failures.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null && range.equals(missingRange)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+            int start = 0;
+            int end = CONTENTS.length - 1;
+            int status = 200;
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (acceptsRanges && range != null && (ifRange == null || ifRange.equals(etag))) {
+                ranges.add(range);
+                String[] bounds = range.substring("bytes=".length()).split("-", -1);
+                start = Integer.parseInt(bounds[0]);
+                if (!bounds[1].isEmpty()) {
+                    end = Integer.parseInt(bounds[1]);
+                }
+                status = 206;
+                exchange.getResponseHeaders()
+                        .add("Content-Range", "bytes " + start + "-" + end + "/" + CONTENTS.length);
+            }
+
+            exchange.sendResponseHeaders(status, end - start + 1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(CONTENTS, start, end - start + 1);
+            }
+        }
+    }
+}
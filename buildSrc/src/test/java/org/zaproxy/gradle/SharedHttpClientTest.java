@@ -0,0 +1,189 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link SharedHttpClient}. */
+class SharedHttpClientTest {
+
+    private static final String CONTENTS = "Contents of the response.";
+
+    private HttpServer server;
+    private URI baseUri;
+    private String acceptEncoding;
+    private String upgrade;
+    private String method;
+    private String requestBody;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        baseUri = new URI("http://" + address.getHostString() + ":" + address.getPort() + "/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldGetStringRequestingAndDecodingGzip() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        // When
+        String contents = client.getString(baseUri.resolve("gzip"));
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+        assertThat(acceptEncoding).isEqualTo("gzip");
+    }
+
+    @Test
+    void shouldGetStringNotCompressed() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        // When
+        String contents = client.getString(baseUri.resolve("plain"));
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldFailToGetStringIfNotSuccessful() {
+        // Given
+        SharedHttpClient client = createClient(1);
+        // When / Then
+        assertThatThrownBy(() -> client.getString(baseUri.resolve("missing")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected status 404");
+    }
+
+    @Test
+    void shouldGetBodyAsIsAndReleasePermitOnClose() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        HttpResponse<InputStream> first = client.get(baseUri.resolve("gzip"));
+        first.body().close();
+        // When
+        HttpResponse<InputStream> second = client.get(baseUri.resolve("plain"));
+        // Then
+        try (InputStream body = second.body()) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(CONTENTS);
+        }
+        assertThat(acceptEncoding).isNull();
+    }
+
+    @Test
+    void shouldGetWithGivenHttpVersion() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        // When
+        HttpResponse<InputStream> response =
+                client.get(baseUri.resolve("plain"), HttpClient.Version.HTTP_1_1);
+        // Then
+        try (InputStream body = response.body()) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(CONTENTS);
+        }
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(upgrade).isNull();
+    }
+
+    @Test
+    void shouldPreferHttp2ByDefault() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        // When
+        client.get(baseUri.resolve("plain")).body().close();
+        // Then
+        assertThat(upgrade).isEqualTo("h2c");
+    }
+
+    @Test
+    void shouldPostBody() throws Exception {
+        // Given
+        SharedHttpClient client = createClient(1);
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        // When
+        HttpResponse<String> response =
+                client.post(baseUri.resolve("plain"), body, "Content-Type", "application/json");
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(CONTENTS);
+        assertThat(method).isEqualTo("POST");
+        assertThat(requestBody).isEqualTo("{}");
+    }
+
+    private static SharedHttpClient createClient(int maxRequestsPerHost) {
+        return new SharedHttpClient(
+                Duration.ofSeconds(5), Duration.ofSeconds(5), maxRequestsPerHost);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            method = exchange.getRequestMethod();
+            acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            upgrade = exchange.getRequestHeaders().getFirst("Upgrade");
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            byte[] contents = CONTENTS.getBytes(StandardCharsets.UTF_8);
+            switch (exchange.getRequestURI().getPath()) {
+                case "/gzip" -> {
+                    exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                    exchange.sendResponseHeaders(200, 0);
+                    try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                        out.write(contents);
+                    }
+                }
+                case "/plain" -> {
+                    exchange.sendResponseHeaders(200, contents.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(contents);
+                    }
+                }
+                default -> exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+}
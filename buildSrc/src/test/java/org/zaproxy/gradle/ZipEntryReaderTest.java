@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit test for {@link ZipEntryReader}. */
+class ZipEntryReaderTest {
+
+    private static final byte[] CONTENTS =
+            "<zapaddon><name>Add-on</name></zapaddon>".repeat(10).getBytes(StandardCharsets.UTF_8);
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldReadDeflatedEntry() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.DEFLATED, null, 0);
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "ZapAddOn.xml");
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldReadStoredEntry() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.STORED, null, 0);
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "ZapAddOn.xml");
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldReadEntryAfterManyOthers() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.DEFLATED, null, 1_000);
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "ZapAddOn.xml");
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldReadEntryOfZipWithComment() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.DEFLATED, "Comment PK\u0005\u0006", 1);
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "ZapAddOn.xml");
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldReadEntryOfZipWithDataBefore() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.DEFLATED, null, 1);
+        byte[] data = Files.readAllBytes(zip);
+        try (OutputStream out = Files.newOutputStream(zip)) {
+            out.write(new byte[100]);
+            out.write(data);
+        }
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "ZapAddOn.xml");
+        // Then
+        assertThat(contents).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    void shouldReturnNullIfNoEntry() throws Exception {
+        // Given
+        Path zip = createZip(ZipEntry.DEFLATED, null, 1);
+        // When
+        byte[] contents = ZipEntryReader.read(zip, "Other.xml");
+        // Then
+        assertThat(contents).isNull();
+    }
+
+    @Test
+    void shouldFailIfNotZip() throws Exception {
+        // Given
+        Path file = Files.writeString(dir.resolve("file.zap"), "Not a ZIP file.");
+        // When / Then
+        assertThatThrownBy(() -> ZipEntryReader.read(file, "ZapAddOn.xml"))
+                .isInstanceOf(ZipException.class);
+    }
+
+    private Path createZip(int method, String comment, int otherEntries) throws IOException {
+        Path zip = dir.resolve("addon.zap");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (int i = 0; i < otherEntries; i++) {
+                out.putNextEntry(new ZipEntry("help/contents/page" + i + ".html"));
+                out.write(("<html>" + i + "</html>").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            ZipEntry entry = new ZipEntry("ZapAddOn.xml");
+            entry.setMethod(method);
+            if (method == ZipEntry.STORED) {
+                CRC32 crc = new CRC32();
+                crc.update(CONTENTS);
+                entry.setSize(CONTENTS.length);
+                entry.setCrc(crc.getValue());
+            }
+            out.putNextEntry(entry);
+            out.write(CONTENTS);
+            out.closeEntry();
+            out.setComment(comment);
+        }
+        return zip;
+    }
+}
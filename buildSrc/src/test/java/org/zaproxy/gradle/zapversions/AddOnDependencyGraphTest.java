@@ -0,0 +1,169 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link AddOnDependencyGraph}. */
+class AddOnDependencyGraphTest {
+
+    static Stream<Path> zapVersionsFiles() throws Exception {
+        return ZapVersionsRewriterTest.zapVersionsFiles();
+    }
+
+    @Test
+    void shouldHaveDirectDependenciesAndDependents() throws Exception {
+        // Given
+        ZapVersions zapVersions =
+                zapVersions(
+                        addOn("commonlib"),
+                        addOn("spider", "commonlib", "network"),
+                        addOn("network"),
+                        addOn("ascan", "commonlib", "missing", "commonlib"));
+        // When
+        AddOnDependencyGraph graph = AddOnDependencyGraph.from(zapVersions);
+        // Then
+        assertThat(graph.getAddOnIds())
+                .isEqualTo(List.of("ascan", "commonlib", "network", "spider"));
+        assertThat(graph.getDependencies("spider")).isEqualTo(List.of("commonlib", "network"));
+        assertThat(graph.getDependencies("ascan")).isEqualTo(List.of("commonlib"));
+        assertThat(graph.getDependencies("commonlib")).isEqualTo(List.of());
+        assertThat(graph.getDependents("commonlib")).isEqualTo(List.of("ascan", "spider"));
+        assertThat(graph.getDependents("network")).isEqualTo(List.of("spider"));
+        assertThat(graph.getDependents("spider")).isEqualTo(List.of());
+    }
+
+    @Test
+    void shouldGetAllDependentsInReleaseOrder() throws Exception {
+        // Given
+        AddOnDependencyGraph graph =
+                AddOnDependencyGraph.from(
+                        zapVersions(
+                                addOn("commonlib"),
+                                addOn("a", "b"),
+                                addOn("b", "commonlib"),
+                                addOn("c", "commonlib"),
+                                addOn("unrelated")));
+        // When
+        List<String> dependents = graph.getAllDependents("commonlib");
+        // Then
+        assertThat(dependents).isEqualTo(List.of("b", "a", "c"));
+    }
+
+    @Test
+    void shouldGetReleaseOrderWithDependenciesFirst() throws Exception {
+        // Given
+        AddOnDependencyGraph graph =
+                AddOnDependencyGraph.from(
+                        zapVersions(
+                                addOn("a", "b", "c"),
+                                addOn("b", "d"),
+                                addOn("c"),
+                                addOn("d")));
+        // When
+        List<String> releaseOrder = graph.getReleaseOrder();
+        // Then
+        assertThat(releaseOrder).isEqualTo(List.of("c", "d", "b", "a"));
+        assertThat(graph.hasCycles()).isFalse();
+        assertThat(graph.getCycles()).isEqualTo(List.of());
+    }
+
+    @Test
+    void shouldDetectCycles() throws Exception {
+        // Given
+        AddOnDependencyGraph graph =
+                AddOnDependencyGraph.from(
+                        zapVersions(
+                                addOn("a", "b"),
+                                addOn("b", "c"),
+                                addOn("c", "a"),
+                                addOn("d", "a"),
+                                addOn("e", "e"),
+                                addOn("f")));
+        // When
+        List<List<String>> cycles = graph.getCycles();
+        // Then
+        assertThat(graph.hasCycles()).isTrue();
+        assertThat(cycles).isEqualTo(List.of(List.of("a", "b", "c"), List.of("e")));
+        assertThat(graph.getAllDependents("a")).isEqualTo(List.of("b", "c", "d"));
+        assertThatThrownBy(graph::getReleaseOrder)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[a, b, c]");
+    }
+
+    @Test
+    void shouldThrowForAddOnNotPresent() throws Exception {
+        // Given
+        AddOnDependencyGraph graph = AddOnDependencyGraph.from(zapVersions(addOn("a")));
+        // When / Then
+        assertThat(graph.contains("b")).isFalse();
+        assertThatThrownBy(() -> graph.getAllDependents("b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("b");
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldGetReleaseOrderOfAllAddOns(Path file) throws Exception {
+        // Given
+        ZapVersions zapVersions = ZapVersions.read(file);
+        // When
+        AddOnDependencyGraph graph = AddOnDependencyGraph.from(zapVersions);
+        // Then
+        List<String> releaseOrder = graph.getReleaseOrder();
+        assertThat(new HashSet<>(releaseOrder)).isEqualTo(new HashSet<>(graph.getAddOnIds()));
+        for (String id : releaseOrder) {
+            for (String dependency : graph.getDependencies(id)) {
+                assertThat(releaseOrder.indexOf(dependency) < releaseOrder.indexOf(id)).isTrue();
+            }
+        }
+    }
+
+    private static String addOn(String id, String... dependencies) {
+        StringBuilder addOn = new StringBuilder();
+        addOn.append("<addon>").append(id).append("</addon>\n");
+        addOn.append("<addon_").append(id).append(">\n<name>").append(id).append("</name>\n");
+        if (dependencies.length != 0) {
+            addOn.append("<dependencies><addons>\n");
+            for (String dependency : dependencies) {
+                addOn.append("<addon><id>").append(dependency).append("</id></addon>\n");
+            }
+            addOn.append("</addons></dependencies>\n");
+        }
+        addOn.append("</addon_").append(id).append(">\n");
+        return addOn.toString();
+    }
+
+    private static ZapVersions zapVersions(String... addOns) throws Exception {
+        String xml = "<ZAP>\n" + String.join("", addOns) + "</ZAP>\n";
+        return ZapVersions.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
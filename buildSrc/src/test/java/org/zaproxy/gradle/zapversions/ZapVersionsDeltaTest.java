@@ -0,0 +1,160 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link ZapVersionsDelta}. */
+class ZapVersionsDeltaTest {
+
+    private static final byte[] BASE = zapVersions("2.16.0", "a", "1", "b", "1", "c", "1");
+
+    static Stream<Path> zapVersionsFiles() throws Exception {
+        return ZapVersionsRewriterTest.zapVersionsFiles();
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldCreateEmptyDeltaForSameRevision(Path file) throws Exception {
+        // Given
+        byte[] contents = Files.readAllBytes(file);
+        // When
+        ZapVersionsDelta delta = ZapVersionsDelta.create(contents, contents);
+        // Then
+        assertThat(delta.isEmpty()).isTrue();
+        assertThat(delta.getFrom()).isEqualTo(delta.getTo());
+    }
+
+    @Test
+    void shouldIgnoreChangesInLayout() throws Exception {
+        // Given
+        byte[] base = BASE;
+        String xml = new String(BASE, StandardCharsets.UTF_8).replace("    ", "\t");
+        byte[] target = xml.getBytes(StandardCharsets.UTF_8);
+        // When
+        ZapVersionsDelta delta = ZapVersionsDelta.create(base, target);
+        // Then
+        assertThat(delta.isEmpty()).isTrue();
+        assertThat(delta.getFrom()).isNotEqualTo(delta.getTo());
+    }
+
+    @Test
+    void shouldCreateDeltaWithAddOnsAddedChangedAndRemoved() throws Exception {
+        // Given
+        byte[] base = BASE;
+        byte[] target = zapVersions("2.16.0", "a", "1", "b", "2", "d", "1");
+        // When
+        ZapVersionsDelta delta = ZapVersionsDelta.create(base, target);
+        // Then
+        assertThat(delta.getFrom()).isEqualTo(ZapVersionsDelta.revision(base));
+        assertThat(delta.getTo()).isEqualTo(ZapVersionsDelta.revision(target));
+        assertThat(delta.getCore()).isNull();
+        assertThat(delta.getAdded()).containsExactly("d");
+        assertThat(delta.getChanged()).containsExactly("b");
+        assertThat(delta.getRemoved()).containsExactly("c");
+    }
+
+    @Test
+    void shouldIncludeCoreIfChanged() throws Exception {
+        // Given
+        byte[] base = BASE;
+        byte[] target = zapVersions("2.17.0", "a", "1", "b", "1", "c", "1");
+        // When
+        ZapVersionsDelta delta = ZapVersionsDelta.create(base, target);
+        // Then
+        assertThat(delta.getCore().getValue("version")).isEqualTo("2.17.0");
+        assertThat(delta.isCoreRemoved()).isFalse();
+        assertThat(delta.getAdded()).isEmpty();
+        assertThat(delta.getChanged()).isEmpty();
+        assertThat(delta.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void shouldIndicateCoreIfRemoved() throws Exception {
+        // Given
+        byte[] base = BASE;
+        byte[] target = zapVersions(null, "a", "1", "b", "1", "c", "1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // When
+        ZapVersionsDelta delta = ZapVersionsDelta.create(base, target);
+        delta.write(out);
+        // Then
+        assertThat(delta.getCore()).isNull();
+        assertThat(delta.isCoreRemoved()).isTrue();
+        assertThat(delta.isEmpty()).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("        <coreRemoved>true</coreRemoved>\n    </delta>\n");
+    }
+
+    @Test
+    void shouldWriteDeltaReadableAsZapVersions() throws Exception {
+        // Given
+        byte[] base = BASE;
+        byte[] target = zapVersions("2.17.0", "a", "1", "b", "2", "c", "1");
+        ZapVersionsDelta delta = ZapVersionsDelta.create(base, target);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // When
+        delta.write(out);
+        // Then
+        ZapVersions expected = ZapVersions.read(new ByteArrayInputStream(target));
+        ZapVersions zapVersions = ZapVersions.read(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(zapVersions.getCore()).isEqualTo(expected.getCore());
+        assertThat(zapVersions.getAddOns()).containsExactly(expected.getAddOn("b"));
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains(
+                        "    <delta>\n"
+                                + "        <from>"
+                                + delta.getFrom()
+                                + "</from>\n"
+                                + "        <to>"
+                                + delta.getTo()
+                                + "</to>\n"
+                                + "        <changed>b</changed>\n"
+                                + "    </delta>\n");
+    }
+
+    private static byte[] zapVersions(String coreVersion, String... addOns) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<ZAP>\n");
+        if (coreVersion != null) {
+            xml.append("    <core>\n        <version>").append(coreVersion).append("</version>\n");
+            xml.append("    </core>\n");
+        }
+        for (int i = 0; i < addOns.length; i += 2) {
+            String id = addOns[i];
+            xml.append("    <addon>").append(id).append("</addon>\n");
+            xml.append("    <addon_").append(id).append(">\n");
+            xml.append("        <version>").append(addOns[i + 1]).append("</version>\n");
+            xml.append("    </addon_").append(id).append(">\n");
+        }
+        xml.append("</ZAP>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link ZapVersionsMinifier}. */
+class ZapVersionsMinifierTest {
+
+    static Stream<Path> zapVersionsFiles() throws Exception {
+        return ZapVersionsRewriterTest.zapVersionsFiles();
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldKeepSameDataWhenMinified(Path file) throws Exception {
+        // Given
+        ZapVersions expected = ZapVersions.read(file);
+        // When
+        byte[] minified = minify(Files.readAllBytes(file));
+        // Then
+        assertThat(minified.length).isLessThan((int) Files.size(file));
+        ZapVersions zapVersions = ZapVersions.read(new ByteArrayInputStream(minified));
+        assertThat(zapVersions.getCore()).isEqualTo(expected.getCore());
+        assertThat(zapVersions.getAddOns()).isEqualTo(expected.getAddOns());
+    }
+
+    @Test
+    void shouldRemoveWhitespaceBetweenElements() throws Exception {
+        // Given
+        String xml =
+                """
+                <?xml version="1.0" encoding="UTF-8" standalone="no"?>
+                <ZAP>
+                    <core>
+                        <version> 2.17.0 </version>
+                    </core>
+                    <addon>a</addon>
+                    <addon_a>
+                        <changes>Line 1
+                Line 2 &amp; &lt;3&gt;</changes>
+                    </addon_a>
+                </ZAP>
+                """;
+        // When
+        byte[] minified = minify(xml.getBytes(StandardCharsets.UTF_8));
+        // Then
+        assertThat(new String(minified, StandardCharsets.UTF_8))
+                .isEqualTo(
+                        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
+                                + "<ZAP><core><version>2.17.0</version></core><addon>a</addon>"
+                                + "<addon_a><changes>Line 1\nLine 2 &amp; &lt;3&gt;</changes>"
+                                + "</addon_a></ZAP>");
+    }
+
+    private static byte[] minify(byte[] xml) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new ByteArrayInputStream(xml)) {
+            ZapVersionsMinifier.minify(in, out);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.apache.commons.configuration.HierarchicalConfiguration;
+import org.apache.commons.configuration.XMLConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.zaproxy.gradle.CustomXmlConfiguration;
+import org.zaproxy.gradle.FileUpdater;
+
+/** Verifies that {@link ZapVersionsRewriter} produces the same output as the previous approach. */
+class ZapVersionsRewriterTest {
+
+    private static final String HASH =
+            "SHA-256:0000000000000000000000000000000000000000000000000000000000000000";
+
+    static Stream<Path> zapVersionsFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get("..").toAbsolutePath().normalize())) {
+            return files
+                    .filter(e -> e.getFileName().toString().matches("ZapVersions.*\\.xml"))
+                    .sorted()
+                    .toList()
+                    .stream();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldRewriteUnchangedFileIdentically(Path file) throws Exception {
+        // Given
+        ZapVersionsRewriter rewriter = new ZapVersionsRewriter();
+        // When
+        byte[] contents = rewriter.rewrite(file);
+        // Then
+        assertThat(contents).isEqualTo(Files.readAllBytes(file));
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldStreamUnchangedFileIdentically(Path file) throws Exception {
+        // Given
+        ZapVersionsRewriter rewriter = new ZapVersionsRewriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // When
+        try (InputStream in = Files.newInputStream(file)) {
+            rewriter.rewrite(in, out);
+        }
+        // Then
+        assertThat(out.toByteArray()).isEqualTo(Files.readAllBytes(file));
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldPatchFileAsRewrite(Path file, @TempDir Path dir) throws Exception {
+        // Given
+        Path patchedFile = dir.resolve("ZapVersions.xml");
+        Files.copy(file, patchedFile);
+        ZapVersionsRewriter rewriter =
+                new ZapVersionsRewriter()
+                        .updateCore(core -> core.setValue("daily.hash", HASH))
+                        .putAddOn("newAddOn", new ZapVersionsElement("newAddOn"));
+        // When
+        rewriter.patch(patchedFile, new FileUpdater());
+        // Then
+        assertThat(patchedFile).hasBinaryContent(rewriter.rewrite(file));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).containsExactly(patchedFile);
+        }
+    }
+
+    @Test
+    void shouldSortAddOnsIfNotSorted(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("ZapVersions.xml");
+        Files.writeString(
+                file,
+                ZapVersionsXmlWriter.XML_DECLARATION
+                        + "\n"
+                        + "<ZAP>\n"
+                        + "    <addon>b</addon>\n"
+                        + "    <addon_b>\n"
+                        + "        <name>B</name>\n"
+                        + "    </addon_b>\n"
+                        + "    <addon>a</addon>\n"
+                        + "    <addon_a/>\n"
+                        + "</ZAP>\n",
+                StandardCharsets.UTF_8);
+        ZapVersionsRewriter rewriter =
+                new ZapVersionsRewriter().putAddOn("c", new ZapVersionsElement("c"));
+        // When
+        byte[] contents = rewriter.rewrite(file);
+        // Then
+        assertThat(new String(contents, StandardCharsets.UTF_8))
+                .isEqualTo(
+                        ZapVersionsXmlWriter.XML_DECLARATION
+                                + "\n"
+                                + "<ZAP>\n"
+                                + "    <addon>a</addon>\n"
+                                + "    <addon_a/>\n"
+                                + "    <addon>b</addon>\n"
+                                + "    <addon_b>\n"
+                                + "        <name>B</name>\n"
+                                + "    </addon_b>\n"
+                                + "    <addon>c</addon>\n"
+                                + "    <addon_c/>\n"
+                                + "</ZAP>\n");
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldUpdateCoreAsXmlConfiguration(Path file) throws Exception {
+        // Given
+        ZapVersionsRewriter rewriter =
+                new ZapVersionsRewriter()
+                        .updateCore(
+                                core -> {
+                                    core.setValue("daily.hash", HASH);
+                                    core.setValue("relnotes", "Notes & <more>");
+                                    core.setValue("new.element", "value");
+                                });
+        XMLConfiguration expected = new CustomXmlConfiguration(file.toFile());
+        expected.setProperty("core.daily.hash", HASH);
+        expected.setProperty("core.relnotes", "Notes & <more>");
+        expected.setProperty("core.new.element", "value");
+        // When
+        byte[] contents = rewriter.rewrite(file);
+        // Then
+        assertThat(new String(contents, StandardCharsets.UTF_8)).isEqualTo(save(expected));
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldPutAddOnsAsXmlConfiguration(Path file) throws Exception {
+        // Given
+        XMLConfiguration expected = new CustomXmlConfiguration(file.toFile());
+        String[] ids = expected.getStringArray("addon");
+        SortedMap<String, HierarchicalConfiguration> addOns = new TreeMap<>();
+        if (ids.length != 0) {
+            HierarchicalConfiguration existing = expected.configurationAt("addon_" + ids[0]);
+            existing.setProperty("version", "1000");
+            addOns.put(ids[0], existing);
+        }
+        HierarchicalConfiguration newAddOn = new HierarchicalConfiguration();
+        newAddOn.setProperty("name", "New Add-on");
+        newAddOn.setProperty("dependencies.addons.addon(0).id", "commonlib");
+        addOns.put("newAddOn", newAddOn);
+
+        ZapVersionsRewriter rewriter = new ZapVersionsRewriter();
+        addOns.forEach((id, data) -> rewriter.putAddOn(id, ZapVersionsElement.from(id, data)));
+        putAddOns(expected, addOns);
+        // When
+        byte[] contents = rewriter.rewrite(file);
+        // Then
+        assertThat(new String(contents, StandardCharsets.UTF_8)).isEqualTo(save(expected));
+    }
+
+    private static void putAddOns(
+            XMLConfiguration zapVersionsXml, SortedMap<String, HierarchicalConfiguration> data) {
+        SortedMap<String, HierarchicalConfiguration> addOns = new TreeMap<>(data);
+        Arrays.stream(zapVersionsXml.getStringArray("addon"))
+                .forEach(
+                        id -> {
+                            addOns.putIfAbsent(id, zapVersionsXml.configurationAt("addon_" + id));
+                            zapVersionsXml.clearTree("addon_" + id);
+                        });
+        zapVersionsXml.clearTree("addon");
+        addOns.forEach(
+                (id, conf) -> {
+                    zapVersionsXml.addProperty("addon", id);
+                    zapVersionsXml.addNodes("addon_" + id, conf.getRootNode().getChildren());
+                });
+    }
+
+    private static String save(XMLConfiguration configuration) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        configuration.save(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Unit test for {@link ZapVersionsSnapshot}. */
+class ZapVersionsSnapshotTest {
+
+    private static final String ZAP_VERSIONS =
+            "<ZAP>\n"
+                    + "    <addon>a</addon>\n"
+                    + "    <addon_a>\n"
+                    + "        <name>A</name>\n"
+                    + "        <version>1</version>\n"
+                    + "    </addon_a>\n"
+                    + "</ZAP>\n";
+
+    @TempDir Path dir;
+
+    static Stream<Path> zapVersionsFiles() throws Exception {
+        return ZapVersionsRewriterTest.zapVersionsFiles();
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldCreateAndLoadSnapshot(Path file) throws Exception {
+        // Given
+        Path snapshot = dir.resolve("snapshot");
+        ZapVersions expected = ZapVersions.read(file);
+        // When
+        ZapVersions created = ZapVersionsSnapshot.read(file, snapshot);
+        ZapVersions loaded =
+                ZapVersionsSnapshot.load(snapshot, DigestUtils.sha256(Files.readAllBytes(file)));
+        // Then
+        assertSameContents(created, expected);
+        assertThat(loaded).isNotNull();
+        assertSameContents(loaded, expected);
+    }
+
+    @Test
+    void shouldNotLoadSnapshotOfOtherContents() throws Exception {
+        // Given
+        Path file = dir.resolve("ZapVersions.xml");
+        Path snapshot = dir.resolve("snapshot");
+        Files.writeString(file, ZAP_VERSIONS);
+        ZapVersionsSnapshot.read(file, snapshot);
+        Files.writeString(file, ZAP_VERSIONS.replace("<version>1", "<version>2"));
+        // When
+        ZapVersions zapVersions = ZapVersionsSnapshot.read(file, snapshot);
+        // Then
+        assertThat(zapVersions.getAddOn("a").version()).isEqualTo("2");
+        assertThat(ZapVersionsSnapshot.load(snapshot, DigestUtils.sha256(Files.readAllBytes(file))))
+                .isNotNull();
+    }
+
+    @Test
+    void shouldNotLoadCorruptedSnapshot() throws Exception {
+        // Given
+        Path file = dir.resolve("ZapVersions.xml");
+        Path snapshot = dir.resolve("snapshot");
+        Files.writeString(file, ZAP_VERSIONS);
+        ZapVersionsSnapshot.read(file, snapshot);
+        byte[] contents = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(contents, contents.length - 10));
+        // When
+        ZapVersions loaded =
+                ZapVersionsSnapshot.load(snapshot, DigestUtils.sha256(Files.readAllBytes(file)));
+        ZapVersions zapVersions = ZapVersionsSnapshot.read(file, snapshot);
+        // Then
+        assertThat(loaded).isNull();
+        assertThat(zapVersions.getAddOn("a").name()).isEqualTo("A");
+    }
+
+    private static void assertSameContents(ZapVersions actual, ZapVersions expected) {
+        assertThat(actual.getCore()).isEqualTo(expected.getCore());
+        assertThat(actual.getAddOns()).isEqualTo(expected.getAddOns());
+    }
+}
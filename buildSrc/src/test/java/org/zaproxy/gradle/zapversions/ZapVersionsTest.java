@@ -0,0 +1,112 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.zapversions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.commons.configuration.HierarchicalConfiguration;
+import org.apache.commons.configuration.XMLConfiguration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.zaproxy.gradle.CustomXmlConfiguration;
+
+/** Verifies that {@link ZapVersions} has the same data as read with {@code XMLConfiguration}. */
+class ZapVersionsTest {
+
+    static Stream<Path> zapVersionsFiles() throws Exception {
+        return ZapVersionsRewriterTest.zapVersionsFiles();
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldReadCore(Path file) throws Exception {
+        // Given
+        XMLConfiguration expected = new CustomXmlConfiguration(file.toFile());
+        // When
+        ZapVersions zapVersions = ZapVersions.read(file);
+        // Then
+        ZapVersions.Core core = zapVersions.getCore();
+        assertThat(core.version()).isEqualTo(expected.getString("core.version"));
+        assertThat(core.dailyVersion()).isEqualTo(expected.getString("core.daily-version"));
+        assertThat(core.relnotesUrl()).isEqualTo(expected.getString("core.relnotes-url"));
+        assertThat(core.daily().url()).isEqualTo(expected.getString("core.daily.url"));
+        assertThat(core.windows().hash()).isEqualTo(expected.getString("core.windows.hash"));
+        assertThat(core.mac().size()).isEqualTo(expected.getLong("core.mac.size"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldReadAllAddOns(Path file) throws Exception {
+        // Given
+        XMLConfiguration expected = new CustomXmlConfiguration(file.toFile());
+        // When
+        ZapVersions zapVersions = ZapVersions.read(file);
+        // Then
+        assertThat(zapVersions.getAddOns())
+                .extracting(ZapVersions.AddOn::id)
+                .containsExactly(expected.getStringArray("addon"));
+        for (ZapVersions.AddOn addOn : zapVersions.getAddOns()) {
+            assertThat(zapVersions.getAddOn(addOn.id())).isSameAs(addOn);
+            assertThat(zapVersions.requireAddOn(addOn.id())).isSameAs(addOn);
+            HierarchicalConfiguration data = expected.configurationAt("addon_" + addOn.id());
+            assertThat(addOn.name()).isEqualTo(data.getString("name"));
+            assertThat(addOn.description()).isEqualTo(data.getString("description"));
+            assertThat(addOn.author()).isEqualTo(data.getString("author"));
+            assertThat(addOn.version()).isEqualTo(data.getString("version"));
+            assertThat(addOn.semVer()).isEqualTo(data.getString("semver"));
+            assertThat(addOn.status()).isEqualTo(data.getString("status"));
+            assertThat(addOn.changes()).isEqualTo(data.getString("changes"));
+            assertThat(addOn.url()).isEqualTo(data.getString("url"));
+            assertThat(addOn.hash()).isEqualTo(data.getString("hash"));
+            assertThat(addOn.info()).isEqualTo(data.getString("info"));
+            assertThat(addOn.repo()).isEqualTo(data.getString("repo"));
+            assertThat(addOn.date()).isEqualTo(data.getString("date"));
+            assertThat(addOn.size()).isEqualTo(data.getLong("size"));
+            assertThat(addOn.notBeforeVersion()).isEqualTo(data.getString("not-before-version"));
+            assertThat(addOn.javaVersion()).isEqualTo(data.getString("dependencies.javaversion"));
+            List<HierarchicalConfiguration> dependencies =
+                    data.configurationsAt("dependencies.addons.addon");
+            assertThat(addOn.dependencies()).hasSameSizeAs(dependencies);
+            for (int i = 0; i < dependencies.size(); i++) {
+                ZapVersions.Dependency dependency = addOn.dependencies().get(i);
+                assertThat(dependency.id()).isEqualTo(dependencies.get(i).getString("id"));
+                assertThat(dependency.version())
+                        .isEqualTo(dependencies.get(i).getString("version"));
+                assertThat(dependency.semVer()).isEqualTo(dependencies.get(i).getString("semver"));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("zapVersionsFiles")
+    void shouldFailToRequireAddOnNotPresent(Path file) throws Exception {
+        // Given
+        ZapVersions zapVersions = ZapVersions.read(file);
+        // When / Then
+        assertThat(zapVersions.getAddOn("missing")).isNull();
+        assertThatThrownBy(() -> zapVersions.requireAddOn("missing"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The add-on is not in the ZapVersions: missing");
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server that serves artifacts, to exercise the downloads without the internet.
+ *
+ * <p>The artifacts are served with support for single byte ranges and the {@code If-Range} header,
+ * as the servers of the releases do. The server can inject latency before each response, limit the
+ * bandwidth of each response, and abort responses after a number of bytes, to simulate mid-stream
+ * failures.
+ *
+ * <p>Instances are thread-safe, the requests are handled concurrently.
+ */
+public final class LocalArtifactServer implements AutoCloseable {
+
+    private static final int WRITE_SIZE = 8 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> artifacts;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger pendingFailures = new AtomicInteger();
+    private volatile long failAfterBytes;
+    private volatile Duration latency = Duration.ZERO;
+    private volatile long bytesPerSecond;
+
+    private LocalArtifactServer() throws IOException {
+        artifacts = new ConcurrentHashMap<>();
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Starts a server, listening on a free port of the loopback address.
+     *
+     * @return the server, to be closed once no longer needed.
+     * @throws IOException if an error occurred while starting the server.
+     */
+    public static LocalArtifactServer start() throws IOException {
+        return new LocalArtifactServer();
+    }
+
+    /**
+     * Adds an artifact with the given contents.
+     *
+     * @param name the name of the artifact, e.g. {@code addon-1.0.0.zap}.
+     * @param contents the contents of the artifact.
+     * @return the URI of the artifact.
+     */
+    public URI addArtifact(String name, byte[] contents) {
+        artifacts.put("/" + name, contents);
+        return getUri(name);
+    }
+
+    /**
+     * Adds an artifact with pseudo-random contents of the given size, always the same for the same
+     * name and size.
+     *
+     * @param name the name of the artifact, e.g. {@code addon-1.0.0.zap}.
+     * @param size the size of the artifact, in bytes.
+     * @return the URI of the artifact.
+     */
+    public URI addArtifact(String name, int size) {
+        byte[] contents = new byte[size];
+        new Random(name.hashCode()).nextBytes(contents);
+        return addArtifact(name, contents);
+    }
+
+    /**
+     * Gets the contents of the given artifact.
+     *
+     * @param name the name of the artifact.
+     * @return the contents, or {@code null} if no such artifact.
+     */
+    public byte[] getContents(String name) {
+        return artifacts.get("/" + name);
+    }
+
+    /**
+     * Gets the URI of the given artifact.
+     *
+     * @param name the name of the artifact.
+     * @return the URI, even if there's no such artifact.
+     */
+    public URI getUri(String name) {
+        InetSocketAddress address = server.getAddress();
+        return URI.create(
+                "http://" + address.getHostString() + ":" + address.getPort() + "/" + name);
+    }
+
+    /**
+     * Sets the latency added before sending each response.
+     *
+     * @param latency the latency, {@link Duration#ZERO} for none.
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Sets the bandwidth of each response.
+     *
+     * @param bytesPerSecond the bytes per second, {@code 0} for unlimited.
+     */
+    public void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Aborts the next responses after sending the given number of bytes of the body. Responses with
+     * a body not longer than the given number of bytes are not aborted.
+     *
+     * @param bytes the number of bytes sent before aborting.
+     * @param responses the number of responses to abort.
+     */
+    public void failAfter(long bytes, int responses) {
+        failAfterBytes = bytes;
+        pendingFailures.set(responses);
+    }
+
+    /**
+     * Gets the number of requests received so far.
+     *
+     * @return the number of requests.
+     */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            sleep(latency.toNanos());
+
+            byte[] contents = artifacts.get(exchange.getRequestURI().getPath());
+            if (contents == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            long start = 0;
+            long end = contents.length - 1L;
+            int status = 200;
+            String etag = createEtag(contents);
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+            if (range != null
+                    && range.startsWith("bytes=")
+                    && (ifRange == null || ifRange.equals(etag))) {
+                String[] bounds = range.substring("bytes=".length()).split("-", -1);
+                start = Long.parseLong(bounds[0]);
+                if (!bounds[1].isEmpty()) {
+                    end = Math.min(end, Long.parseLong(bounds[1]));
+                }
+                if (start > end) {
+                    exchange.getResponseHeaders()
+                            .add("Content-Range", "bytes */" + contents.length);
+                    exchange.sendResponseHeaders(416, -1);
+                    return;
+                }
+                status = 206;
+                exchange.getResponseHeaders()
+                        .add("Content-Range", "bytes " + start + "-" + end + "/" + contents.length);
+            }
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+            exchange.getResponseHeaders().add("ETag", etag);
+
+            long length = end - start + 1;
+            long limit = length;
+            if (length > failAfterBytes
+                    && pendingFailures.getAndUpdate(i -> Math.max(0, i - 1)) > 0) {
+                limit = failAfterBytes;
+            }
+            exchange.sendResponseHeaders(status, length);
+            OutputStream out = exchange.getResponseBody();
+            write(out, contents, (int) start, limit);
+            if (limit == length) {
+                out.close();
+            }
+            // Otherwise the exchange is closed with missing bytes, which aborts the connection.
+        }
+    }
+
+    private void write(OutputStream out, byte[] contents, int offset, long length)
+            throws IOException {
+        long startTime = System.nanoTime();
+        long written = 0;
+        while (written < length) {
+            int size = (int) Math.min(WRITE_SIZE, length - written);
+            out.write(contents, offset + (int) written, size);
+            out.flush();
+            written += size;
+
+            long rate = bytesPerSecond;
+            if (rate > 0) {
+                long expectedNanos = written * 1_000_000_000L / rate;
+                sleep(expectedNanos - (System.nanoTime() - startTime));
+            }
+        }
+    }
+
+    private static String createEtag(byte[] contents) {
+        return "\"" + Integer.toHexString(Arrays.hashCode(contents)) + "-" + contents.length + "\"";
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+}
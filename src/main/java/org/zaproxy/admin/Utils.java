@@ -19,32 +19,80 @@
  */
 package org.zaproxy.admin;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
 
 /** Utilities for common tasks. */
 public class Utils {
 
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(60);
+    private static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * The HTTP client shared by all requests, to reuse the connections. Prefers HTTP/2 and follows
+     * redirects.
+     */
+    private static final HttpClient HTTP_CLIENT =
+            HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .build();
+
     private Utils() {
         // Utility class.
     }
 
+    /**
+     * Reads the contents of the given URL, as UTF-8.
+     *
+     * <p>The contents are requested compressed with gzip.
+     *
+     * @param urlString the URL.
+     * @return the contents.
+     * @throws IOException if an error occurred while reading the contents or if the response was
+     *     not successful.
+     * @throws URISyntaxException if the URL is not valid.
+     */
     public static String readUrl(String urlString) throws IOException, URISyntaxException {
-        try (BufferedReader reader =
-                new BufferedReader(
-                        new InputStreamReader(
-                                new URI(urlString).toURL().openStream(), StandardCharsets.UTF_8))) {
-            StringBuilder builder = new StringBuilder();
-            int read;
-            char[] chars = new char[1024];
-            while ((read = reader.read(chars)) != -1) {
-                builder.append(chars, 0, read);
+        HttpRequest request =
+                HttpRequest.newBuilder(new URI(urlString))
+                        .timeout(RESPONSE_TIMEOUT)
+                        .header("Accept-Encoding", GZIP_ENCODING)
+                        .GET()
+                        .build();
+        HttpResponse<InputStream> response;
+        try {
+            response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading " + urlString);
+        }
+
+        try (InputStream body = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException(
+                        "Unexpected status " + response.statusCode() + " for: " + urlString);
+            }
+
+            boolean gzip =
+                    response.headers()
+                            .firstValue("Content-Encoding")
+                            .filter(GZIP_ENCODING::equalsIgnoreCase)
+                            .isPresent();
+            try (InputStream in = gzip ? new GZIPInputStream(body) : body) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
             }
-            return builder.toString();
         }
     }
 }